@@ -62,3 +62,46 @@ DESCRIBE trainers;
 -- Query to verify BCrypt hashed passwords (should see long hashed strings)
 -- SELECT id, email, LEFT(password, 20) as password_preview, role FROM users;
 -- SELECT id, email, LEFT(password, 20) as password_preview, role FROM trainers;
+
+-- Materialized feed timelines (user_timeline) of follows that existed before fan-out on
+-- write are filled in automatically on every startup (TimelineBackfill); no manual step is needed
+
+-- One-time backfill of the denormalized trainers.follower_count column
+-- UPDATE trainers t SET follower_count = (SELECT COUNT(*) FROM follows f WHERE f.trainer_id = t.id);
+
+-- fitness_plans_seq (the plan ID sequence, emulated as a table on MySQL) is moved past
+-- MAX(fitness_plans.id) automatically on every startup; no manual seed is needed
+
+-- Plans are soft-deleted (fitness_plans.deleted_at) and purged in the background;
+-- rows still waiting for cleanup:
+-- SELECT id, trainer_id, deleted_at FROM fitness_plans WHERE deleted_at IS NOT NULL;
+
+-- The follows/subscriptions unique keys are now named (uk_follows_user_trainer,
+-- uk_subscriptions_user_plan) because duplicate detection relies on them; older
+-- auto-named unique keys on the same columns are dropped automatically on startup
+
+-- subscriptions_seq (the subscription ID sequence, emulated as a table on MySQL) is moved
+-- past MAX(subscriptions.id) automatically on every startup; no manual seed is needed
+
+-- One-time backfill of subscriptions.expires_at (purchase time plus plan duration)
+-- for subscriptions created before expiry was introduced
+-- UPDATE subscriptions s JOIN fitness_plans p ON p.id = s.plan_id
+-- SET s.expires_at = s.subscribed_at + INTERVAL p.duration DAY
+-- WHERE s.expires_at IS NULL;
+
+-- One-time seed of the subscription ledger from subscriptions that existed before it;
+-- the projector picks these up on its next run
+-- INSERT INTO subscription_events (type, user_id, plan_id, trainer_id, plan_title, price, occurred_at)
+-- SELECT 'SUBSCRIBED', s.user_id, s.plan_id, p.trainer_id, p.title, p.price, s.subscribed_at
+-- FROM subscriptions s JOIN fitness_plans p ON p.id = s.plan_id
+-- ORDER BY s.subscribed_at, s.id;
+
+-- One-time backfill of plan_daily_stats from subscriptions that existed before the rollup
+-- (only the last 90 days are shown on the dashboard)
+-- INSERT INTO plan_daily_stats (plan_id, trainer_id, stat_date, subscriptions, revenue, plan_title)
+-- SELECT s.plan_id, p.trainer_id, DATE(s.subscribed_at), COUNT(*), COUNT(*) * p.price, p.title
+-- FROM subscriptions s JOIN fitness_plans p ON p.id = s.plan_id
+-- WHERE s.subscribed_at >= CURRENT_DATE - INTERVAL 90 DAY
+-- GROUP BY s.plan_id, p.trainer_id, DATE(s.subscribed_at), p.price, p.title
+-- ON DUPLICATE KEY UPDATE subscriptions = subscriptions + VALUES(subscriptions),
+--     revenue = revenue + VALUES(revenue);
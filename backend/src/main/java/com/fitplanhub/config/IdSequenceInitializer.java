@@ -0,0 +1,61 @@
+package com.fitplanhub.config;
+
+import com.fitplanhub.repository.FitnessPlanRepository;
+import com.fitplanhub.repository.SubscriptionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * ID Sequence Initializer
+ * Tables switched from AUTO_INCREMENT to pooled sequences keep their existing rows, while
+ * Hibernate creates the sequence starting at 1; on startup, before the application serves
+ * requests or runs jobs, each sequence is moved past the table's highest ID
+ * Only MySQL needs this (the sequences are emulated as tables there); other databases
+ * are created empty by the schema tooling
+ */
+@Component
+public class IdSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    // must match allocationSize of the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FitnessPlanRepository fitnessPlanRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @PostConstruct
+    void seedSequences() throws SQLException {
+        if (!isMySql()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            fitnessPlanRepository.seedIdSequence(ALLOCATION_SIZE);
+            subscriptionRepository.seedIdSequence(ALLOCATION_SIZE);
+        });
+        log.info("ID sequences seeded from existing rows");
+    }
+
+    private boolean isMySql() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+}
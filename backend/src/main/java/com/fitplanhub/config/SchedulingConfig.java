@@ -0,0 +1,16 @@
+package com.fitplanhub.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables the background jobs (counter flushes, cleanup, expiry, projections)
+ * Set scheduling.enabled=false to turn them off, e.g. in tests that count SQL statements
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
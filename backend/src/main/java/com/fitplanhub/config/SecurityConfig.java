@@ -1,6 +1,7 @@
 package com.fitplanhub.config;
 
 import com.fitplanhub.filter.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -50,6 +51,9 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatches of streamed responses (exports, feed stream) continue a request
+                // that was already authorized; the JWT filter does not run on them
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Public endpoints
                 .requestMatchers("/api/auth/**", "/api/public/**", "/h2-console/**", "/error").permitAll()
                 // Trainer endpoints - require TRAINER role
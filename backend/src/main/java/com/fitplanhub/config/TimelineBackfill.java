@@ -0,0 +1,46 @@
+package com.fitplanhub.config;
+
+import com.fitplanhub.repository.TimelineRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Timeline Backfill
+ * Follows created before fan-out on write have no user_timeline rows, so those feeds would
+ * miss the followed trainers' plans; on startup, before the application serves requests,
+ * every push-mode trainer's live plans are added to followers' timelines where missing
+ * Idempotent (existing rows are skipped), one short transaction per trainer; a trainer that
+ * fails is logged and retried on the next startup
+ */
+@Component
+public class TimelineBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineBackfill.class);
+
+    @Autowired
+    private TimelineRepository timelineRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void backfill() {
+        long inserted = 0;
+        for (Long trainerId : timelineRepository.findFollowedPushModeTrainerIds()) {
+            try {
+                Integer rows = transactionTemplate.execute(status ->
+                    timelineRepository.backfillMissingForTrainer(trainerId));
+                inserted += rows == null ? 0 : rows;
+            } catch (RuntimeException e) {
+                log.warn("Timeline backfill for trainer {} failed", trainerId, e);
+            }
+        }
+        if (inserted > 0) {
+            log.info("Timeline backfill added {} missing entries", inserted);
+        }
+    }
+}
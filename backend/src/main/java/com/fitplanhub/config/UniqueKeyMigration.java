@@ -0,0 +1,89 @@
+package com.fitplanhub.config;
+
+import com.fitplanhub.entity.Follow;
+import com.fitplanhub.entity.Subscription;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unique Key Migration
+ * Duplicate follows and subscriptions are detected by the name of the violated unique key,
+ * but ddl-auto=update only adds the named keys and leaves the auto-named ones created
+ * earlier on the same columns, which then fire first; on startup those are dropped (MySQL)
+ */
+@Component
+// the schema update runs when the entity manager factory is built, so the named keys exist by then
+@DependsOn("entityManagerFactory")
+public class UniqueKeyMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(UniqueKeyMigration.class);
+
+    // unique indexes covering exactly the given columns, in index order
+    private static final String FIND_UNIQUE_KEYS =
+        "SELECT index_name FROM information_schema.statistics " +
+        "WHERE table_schema = DATABASE() AND table_name = ? AND non_unique = 0 " +
+        "AND index_name <> 'PRIMARY' " +
+        "GROUP BY index_name " +
+        "HAVING GROUP_CONCAT(column_name ORDER BY seq_in_index) = ?";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    void dropLegacyUniqueKeys() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            dropDuplicates(connection, "follows", Follow.UK_USER_TRAINER, "user_id,trainer_id");
+            dropDuplicates(connection, "subscriptions", Subscription.UK_USER_PLAN, "user_id,plan_id");
+        }
+    }
+
+    private void dropDuplicates(Connection connection, String table, String keyName, String columns)
+            throws SQLException {
+        List<String> keys = findUniqueKeys(connection, table, columns);
+        if (keys.stream().noneMatch(keyName::equalsIgnoreCase)) {
+            // the named key is missing (e.g. existing duplicate rows stopped its creation);
+            // keep the old key so duplicates are still rejected
+            log.warn("Unique key {} on {} is missing; keeping {}", keyName, table, keys);
+            return;
+        }
+        for (String legacyKey : keys) {
+            if (legacyKey.equalsIgnoreCase(keyName)) {
+                continue;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE " + table + " DROP INDEX `" + legacyKey + "`");
+            }
+            log.info("Dropped unique key {} on {} (superseded by {})", legacyKey, table, keyName);
+        }
+    }
+
+    private List<String> findUniqueKeys(Connection connection, String table, String columns) throws SQLException {
+        List<String> keys = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_UNIQUE_KEYS)) {
+            statement.setString(1, table);
+            statement.setString(2, columns);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    keys.add(rows.getString(1));
+                }
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,80 @@
+package com.fitplanhub.controller;
+
+import com.fitplanhub.service.FeedCacheService;
+import com.fitplanhub.service.PlanCacheService;
+import com.fitplanhub.service.PlanCleanupService;
+import com.fitplanhub.service.SubscriptionAccessCache;
+import com.fitplanhub.service.SubscriptionExpiryService;
+import com.fitplanhub.service.SubscriptionProjector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Metrics Controller
+ * Exposes in-process cache statistics and background job progress for monitoring
+ * Requires authentication (enforced by SecurityConfig)
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "http://localhost:3000")
+public class MetricsController {
+
+    @Autowired
+    private FeedCacheService feedCacheService;
+
+    @Autowired
+    private PlanCacheService planCacheService;
+
+    @Autowired
+    private SubscriptionAccessCache subscriptionAccessCache;
+
+    @Autowired
+    private PlanCleanupService planCleanupService;
+
+    @Autowired
+    private SubscriptionExpiryService subscriptionExpiryService;
+
+    @Autowired
+    private SubscriptionProjector subscriptionProjector;
+
+    /**
+     * Get cache statistics (size, hits, misses, evictions)
+     * GET /api/metrics/caches
+     */
+    @GetMapping("/caches")
+    public ResponseEntity<?> getCacheStats() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("feed", feedCacheService.getStats());
+        caches.put("plans", planCacheService.getStats());
+        caches.put("subscriptions", subscriptionAccessCache.getStats());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", caches);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get background job progress
+     * GET /api/metrics/jobs
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<?> getJobStats() {
+        Map<String, Object> jobs = new LinkedHashMap<>();
+        jobs.put("planCleanup", planCleanupService.getStats());
+        jobs.put("subscriptionExpiry", subscriptionExpiryService.getStats());
+        jobs.put("subscriptionProjector", subscriptionProjector.getStats());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", jobs);
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -6,7 +6,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Plan Controller
@@ -20,6 +22,40 @@ public class PlanController {
     @Autowired
     private PlanDetailsService planDetailsService;
 
+    private static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * Get details of several plans in one request
+     * Each plan is full or preview by the same rules as the single-plan endpoint
+     * GET /api/plans/batch?ids=1,2,3
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<?> getPlanDetailsBatch(@RequestParam List<Long> ids,
+                                                 @RequestAttribute(value = "userId", required = false) Long userId,
+                                                 @RequestAttribute(value = "userRole", required = false) String userRole) {
+        Map<String, Object> response = new HashMap<>();
+        List<Long> planIds = ids.stream().distinct().collect(Collectors.toList());
+        if (planIds.size() > MAX_BATCH_SIZE) {
+            response.put("success", false);
+            response.put("message", "At most " + MAX_BATCH_SIZE + " plans can be requested at once");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        try {
+            List<Object> plans = planDetailsService.getPlanDetailsBatch(planIds, userId, userId == null ? null : userRole);
+            
+            response.put("success", true);
+            response.put("data", plans);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "An error occurred");
+            return ResponseEntity.status(500).body(errorResponse);
+        }
+    }
+
     /**
      * Get plan details
      * Returns full details if subscribed, preview otherwise
@@ -1,15 +1,16 @@
 package com.fitplanhub.controller;
 
-import com.fitplanhub.dto.FitnessPlanResponse;
-import com.fitplanhub.service.UserFeedService;
+import com.fitplanhub.dto.LeaderboardEntry;
+import com.fitplanhub.service.FeaturedPlansService;
+import com.fitplanhub.service.TrainerLeaderboardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Public endpoints - no auth needed
@@ -21,29 +22,45 @@ import java.util.stream.Collectors;
 public class PublicController {
 
     @Autowired
-    private UserFeedService userFeedService;
+    private FeaturedPlansService featuredPlansService;
+
+    @Autowired
+    private TrainerLeaderboardService leaderboardService;
 
     // Landing page needs to show some plans without requiring login
+    // served from a prebuilt snapshot, no database access per request
     @GetMapping("/plans")
     public ResponseEntity<?> getPopularPlans(@RequestParam(defaultValue = "6") int limit) {
         try {
-            List<FitnessPlanResponse> allPlans = userFeedService.getAllPlans();
-            
-            // just show first N plans, keeps response light
-            List<FitnessPlanResponse> featured = allPlans.stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(featuredPlansService.getFeaturedResponse(limit));
+        } catch (Exception e) {
+            Map<String, Object> errorResp = new HashMap<>();
+            errorResp.put("success", false);
+            errorResp.put("message", "Failed to fetch plans");
+            return ResponseEntity.status(500).body(errorResp);
+        }
+    }
+
+    // Landing page widget: most followed / most subscribed trainers, served from memory
+    @GetMapping("/trainers/leaderboard")
+    public ResponseEntity<?> getLeaderboard(@RequestParam(defaultValue = "followers") String type,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            TrainerLeaderboardService.Board board = TrainerLeaderboardService.Board.fromParam(type);
+            List<LeaderboardEntry> entries = leaderboardService.top(board, limit);
             
             Map<String, Object> resp = new HashMap<>();
             resp.put("success", true);
-            resp.put("data", featured);
+            resp.put("data", entries);
             
             return ResponseEntity.ok(resp);
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             Map<String, Object> errorResp = new HashMap<>();
             errorResp.put("success", false);
-            errorResp.put("message", "Failed to fetch plans");
-            return ResponseEntity.status(500).body(errorResp);
+            errorResp.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResp);
         }
     }
 }
@@ -1,13 +1,22 @@
 package com.fitplanhub.controller;
 
+import com.fitplanhub.dto.ExportFormat;
 import com.fitplanhub.dto.FitnessPlanRequest;
 import com.fitplanhub.dto.FitnessPlanResponse;
+import com.fitplanhub.dto.PlanImportResult;
+import com.fitplanhub.service.PlanImportService;
+import com.fitplanhub.service.TrainerAnalyticsService;
+import com.fitplanhub.service.TrainerExportService;
 import com.fitplanhub.service.TrainerPlanService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -26,6 +35,15 @@ public class TrainerController {
     @Autowired
     private TrainerPlanService trainerPlanService;
 
+    @Autowired
+    private PlanImportService planImportService;
+
+    @Autowired
+    private TrainerExportService trainerExportService;
+
+    @Autowired
+    private TrainerAnalyticsService trainerAnalyticsService;
+
     /**
      * Create a new fitness plan
      * POST /api/trainer/plans
@@ -50,6 +68,31 @@ public class TrainerController {
         }
     }
 
+    /**
+     * Import many plans at once from a JSON array of plan objects
+     * Invalid rows are reported individually, valid rows are still saved
+     * POST /api/trainer/plans/import
+     */
+    @PostMapping(value = "/plans/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importPlans(@RequestAttribute("userId") Long trainerId,
+                                         HttpServletRequest request) {
+        try {
+            PlanImportResult result = planImportService.importPlans(trainerId, request.getInputStream());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Imported " + result.getImported() + " of " + result.getReceived() + " plans");
+            response.put("data", result);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
     /**
      * Get all plans created by the trainer
      * GET /api/trainer/plans
@@ -129,4 +172,99 @@ public class TrainerController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         }
     }
+
+    /**
+     * Export all of the trainer's plans, streamed row by row
+     * GET /api/trainer/export/plans?format=ndjson|csv
+     */
+    @GetMapping("/export/plans")
+    public ResponseEntity<?> exportPlans(@RequestAttribute("userId") Long trainerId,
+                                         @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParam(format);
+        } catch (RuntimeException e) {
+            return invalidFormat(e);
+        }
+        StreamingResponseBody body = out -> trainerExportService.exportPlans(trainerId, exportFormat, out);
+        return exportResponse("plans", exportFormat, body);
+    }
+
+    /**
+     * Export every subscription to the trainer's plans, streamed row by row
+     * GET /api/trainer/export/subscribers?format=ndjson|csv
+     */
+    @GetMapping("/export/subscribers")
+    public ResponseEntity<?> exportSubscribers(@RequestAttribute("userId") Long trainerId,
+                                               @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParam(format);
+        } catch (RuntimeException e) {
+            return invalidFormat(e);
+        }
+        StreamingResponseBody body = out -> trainerExportService.exportSubscribers(trainerId, exportFormat, out);
+        return exportResponse("subscribers", exportFormat, body);
+    }
+
+    private ResponseEntity<?> invalidFormat(RuntimeException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String name, ExportFormat format,
+                                                                 StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Get revenue and subscriber counts across the trainer's plans
+     * GET /api/trainer/revenue
+     */
+    @GetMapping("/revenue")
+    public ResponseEntity<?> getRevenue(@RequestAttribute("userId") Long trainerId) {
+        try {
+            Map<String, Object> summary = trainerAnalyticsService.getRevenueSummary(trainerId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", summary);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * Get new subscriptions and revenue per plan per day, read from daily rollups
+     * GET /api/trainer/analytics?days=90
+     */
+    @GetMapping("/analytics")
+    public ResponseEntity<?> getAnalytics(@RequestAttribute("userId") Long trainerId,
+                                          @RequestParam(defaultValue = "" + TrainerAnalyticsService.MAX_ANALYTICS_DAYS) int days) {
+        try {
+            Map<String, Object> analytics = trainerAnalyticsService.getDailyAnalytics(trainerId, days);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", analytics);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
 }
@@ -1,15 +1,26 @@
 package com.fitplanhub.controller;
 
+import com.fitplanhub.dto.BatchSubscribeRequest;
+import com.fitplanhub.dto.CursorPage;
 import com.fitplanhub.dto.FitnessPlanResponse;
+import com.fitplanhub.dto.FitnessPlanSummary;
+import com.fitplanhub.dto.PlanBrowseFilter;
+import com.fitplanhub.dto.SubscriptionOutcome;
+import com.fitplanhub.entity.FitnessPlan;
+import com.fitplanhub.entity.SubscriptionHistoryEntry;
 import com.fitplanhub.service.FollowService;
 import com.fitplanhub.service.SubscriptionService;
 import com.fitplanhub.service.UserFeedService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -55,6 +66,34 @@ public class UserController {
         }
     }
 
+    /**
+     * Subscribe to several plans in one checkout
+     * Returns one outcome per plan (subscribed, already subscribed, not found, failed)
+     * POST /api/user/subscribe/batch
+     */
+    @PostMapping("/subscribe/batch")
+    public ResponseEntity<?> subscribeToPlans(@RequestAttribute("userId") Long userId,
+                                              @Valid @RequestBody BatchSubscribeRequest request) {
+        try {
+            List<SubscriptionOutcome> outcomes = subscriptionService.subscribeToPlans(userId, request.getPlanIds());
+            long subscribed = outcomes.stream()
+                .filter(o -> o.getStatus() == SubscriptionOutcome.Status.SUBSCRIBED)
+                .count();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Subscribed to " + subscribed + " of " + outcomes.size() + " plans");
+            response.put("data", outcomes);
+            
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
     /**
      * Follow a trainer
      * POST /api/user/follow/{trainerId}
@@ -146,17 +185,47 @@ public class UserController {
     }
 
     /**
-     * Get personalized user feed (plans from followed trainers)
-     * GET /api/user/feed
+     * Get subscription history (subscribed / expired events), newest first
+     * GET /api/user/subscriptions/history?cursor=...&size=20
+     * Pass the returned nextCursor to fetch the following page
+     */
+    @GetMapping("/subscriptions/history")
+    public ResponseEntity<?> getSubscriptionHistory(@RequestAttribute("userId") Long userId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "" + SubscriptionService.DEFAULT_HISTORY_PAGE_SIZE) int size) {
+        try {
+            CursorPage<SubscriptionHistoryEntry> page = subscriptionService.getSubscriptionHistory(userId, cursor, size);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    /**
+     * Get personalized user feed (plans from followed trainers), newest first
+     * GET /api/user/feed?cursor=...&size=20
+     * Pass the returned nextCursor to fetch the following page
      */
     @GetMapping("/feed")
-    public ResponseEntity<?> getUserFeed(@RequestAttribute("userId") Long userId) {
+    public ResponseEntity<?> getUserFeed(@RequestAttribute("userId") Long userId,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "" + UserFeedService.DEFAULT_PAGE_SIZE) int size) {
         try {
-            List<FitnessPlanResponse> feedPlans = userFeedService.getUserFeed(userId);
+            CursorPage<FitnessPlanResponse> feedPage = userFeedService.getUserFeed(userId, cursor, size);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("data", feedPlans);
+            response.put("data", feedPage.getItems());
+            response.put("nextCursor", feedPage.getNextCursor());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -168,17 +237,53 @@ public class UserController {
     }
 
     /**
-     * Get all available plans (for browsing)
-     * GET /api/user/plans
+     * Stream one page of the user feed as newline-delimited JSON while it is merged
+     * GET /api/user/feed/stream?cursor=...&size=20
+     * The last line is {"nextCursor": ...}
+     */
+    @GetMapping("/feed/stream")
+    public ResponseEntity<?> streamUserFeed(@RequestAttribute("userId") Long userId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "" + UserFeedService.DEFAULT_PAGE_SIZE) int size) {
+        Iterator<FitnessPlan> feed;
+        try {
+            // opened here, not in the body, so errors still get a JSON 400
+            feed = userFeedService.openFeed(userId, cursor);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+        StreamingResponseBody body = out -> userFeedService.streamUserFeed(feed, size, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    /**
+     * Browse the plan catalogue with optional filters, one page at a time
+     * GET /api/user/plans?minPrice=&maxPrice=&minDuration=&maxDuration=&trainerId=
+     *     &sort=newest|price_asc|price_desc|duration_asc|duration_desc&cursor=...&size=20
+     * Pass the returned nextCursor to fetch the following page
      */
     @GetMapping("/plans")
-    public ResponseEntity<?> getAllPlans() {
+    public ResponseEntity<?> getAllPlans(@RequestParam(required = false) Double minPrice,
+                                         @RequestParam(required = false) Double maxPrice,
+                                         @RequestParam(required = false) Integer minDuration,
+                                         @RequestParam(required = false) Integer maxDuration,
+                                         @RequestParam(required = false) Long trainerId,
+                                         @RequestParam(defaultValue = "newest") String sort,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "" + UserFeedService.DEFAULT_PAGE_SIZE) int size) {
         try {
-            List<FitnessPlanResponse> allPlans = userFeedService.getAllPlans();
+            PlanBrowseFilter filter = new PlanBrowseFilter(minPrice, maxPrice, minDuration, maxDuration, trainerId);
+            CursorPage<FitnessPlanSummary> page = userFeedService.browsePlans(filter, sort, cursor, size);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("data", allPlans);
+            response.put("data", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
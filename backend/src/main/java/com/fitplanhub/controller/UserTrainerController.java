@@ -1,6 +1,9 @@
 package com.fitplanhub.controller;
 
+import com.fitplanhub.dto.CursorPage;
 import com.fitplanhub.dto.TrainerResponse;
+import com.fitplanhub.dto.TrainerSuggestion;
+import com.fitplanhub.dto.TrainerSummary;
 import com.fitplanhub.service.FollowService;
 import com.fitplanhub.service.TrainerService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,19 +32,37 @@ public class UserTrainerController {
     private FollowService followService;
 
     /**
-     * Get all trainers
-     * GET /api/user/trainers
+     * Get one page of the trainer directory (summaries without bio)
+     * GET /api/user/trainers?sort=experience|newest|followers&tags=yoga,cardio&tagMode=all|any&cursor=...&size=20
+     * Pass the returned nextCursor to fetch the following page
+     * The first page also carries per-tag facet counts for the filtered set
      */
     @GetMapping
-    public ResponseEntity<?> getAllTrainers(@RequestAttribute("userId") Long userId) {
+    public ResponseEntity<?> getAllTrainers(@RequestAttribute("userId") Long userId,
+                                            @RequestParam(defaultValue = "newest") String sort,
+                                            @RequestParam(required = false) List<String> tags,
+                                            @RequestParam(defaultValue = "all") String tagMode,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "" + TrainerService.DEFAULT_PAGE_SIZE) int size) {
         try {
-            List<TrainerResponse> trainers = trainerService.getAllTrainers(userId);
+            boolean matchAll = !"any".equalsIgnoreCase(tagMode);
+            CursorPage<TrainerSummary> page = trainerService.getTrainerDirectory(
+                userId, sort, tags, matchAll, cursor, size);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("data", trainers);
+            response.put("data", page.getItems());
+            response.put("nextCursor", page.getNextCursor());
+            if (cursor == null || cursor.isBlank()) {
+                response.put("facets", trainerService.getTagFacets(tags, matchAll));
+            }
             
             return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -73,6 +94,45 @@ public class UserTrainerController {
         }
     }
 
+    /**
+     * Typeahead completions for trainer names and specializations
+     * GET /api/user/trainers/suggest?prefix=yo&limit=8
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestTrainers(@RequestParam String prefix,
+                                             @RequestParam(defaultValue = "8") int limit) {
+        List<TrainerSuggestion> suggestions = trainerService.suggest(prefix, limit);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", suggestions);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get the full record of one trainer, including bio
+     * GET /api/user/trainers/{trainerId}
+     */
+    @GetMapping("/{trainerId}")
+    public ResponseEntity<?> getTrainerDetails(@RequestAttribute("userId") Long userId,
+                                               @PathVariable Long trainerId) {
+        try {
+            TrainerResponse trainer = trainerService.getTrainerDetails(trainerId, userId);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", trainer);
+            
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
     /**
      * Follow a trainer
      * POST /api/user/trainers/follow/{trainerId}
@@ -0,0 +1,22 @@
+package com.fitplanhub.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for subscribing to several plans in one checkout
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSubscribeRequest {
+
+    @NotEmpty(message = "At least one plan is required")
+    @Size(max = 50, message = "At most 50 plans can be subscribed at once")
+    private List<Long> planIds;
+}
@@ -0,0 +1,19 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A subscription about to be removed (expired, or its plan purged), with the IDs needed to clean up after it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpiringSubscription {
+    private Long subscriptionId;
+    private Long userId;
+    private Long planId;
+    private Long trainerId;
+    private String planTitle;
+}
@@ -0,0 +1,37 @@
+package com.fitplanhub.dto;
+
+/**
+ * Output formats supported by the trainer export endpoints
+ */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parse the format request parameter (case-insensitive)
+     */
+    public static ExportFormat fromParam(String value) {
+        try {
+            return ExportFormat.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid format: " + value);
+        }
+    }
+}
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
 /**
  * DTO for fitness plan response (full details)
  */
@@ -11,6 +14,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class FitnessPlanResponse {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     private Long id;
     private String title;
     private String description;
@@ -19,4 +24,10 @@ public class FitnessPlanResponse {
     private Long trainerId;
     private String trainerName;
     private String createdAt;
+
+    // used by JPQL constructor projections
+    public FitnessPlanResponse(Long id, String title, String description, Double price, Integer duration,
+                               Long trainerId, String trainerName, LocalDateTime createdAt) {
+        this(id, title, description, price, duration, trainerId, trainerName, createdAt.format(DATE_FORMATTER));
+    }
 }
@@ -0,0 +1,42 @@
+package com.fitplanhub.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * DTO for fitness plan listings
+ * Same JSON shape as FitnessPlanResponse (full description included), plus the exact
+ * creation time used for keyset paging
+ * Built directly by JPQL constructor projections (no entity is loaded)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FitnessPlanSummary {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private Long id;
+    private String title;
+    private String description;
+    private Double price;
+    private Integer duration;
+    private Long trainerId;
+    private String trainerName;
+    private String createdAt;
+
+    // full-precision creation time, used as the keyset cursor of the "newest" sort
+    @JsonIgnore
+    private LocalDateTime createdAtTime;
+
+    public FitnessPlanSummary(Long id, String title, String description, Double price, Integer duration,
+                              Long trainerId, String trainerName, LocalDateTime createdAt) {
+        this(id, title, description, price, duration, trainerId, trainerName,
+            createdAt.format(DATE_FORMATTER), createdAt);
+    }
+}
@@ -0,0 +1,18 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a trainer leaderboard
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+    private int rank;
+    private Long trainerId;
+    private String name;
+    private long count;
+}
@@ -0,0 +1,36 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for one plan's subscriptions and revenue over a date range, with the daily breakdown
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanAnalytics {
+    private Long planId;
+    private String title;
+    private long subscriptions;
+    private double revenue;
+    private List<PlanDailyStat> daily = new ArrayList<>();
+
+    public PlanAnalytics(Long planId) {
+        this.planId = planId;
+    }
+
+    // days are added oldest first, so the title ends up as the most recent one
+    public void add(PlanDailyStat day) {
+        daily.add(day);
+        if (day.getPlanTitle() != null) {
+            title = day.getPlanTitle();
+        }
+        subscriptions += day.getSubscriptions();
+        revenue += day.getRevenue();
+    }
+}
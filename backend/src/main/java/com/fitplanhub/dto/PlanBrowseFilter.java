@@ -0,0 +1,20 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters of the plan catalogue browse; null means no bound
+ * Ranges are inclusive
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanBrowseFilter {
+    private Double minPrice;
+    private Double maxPrice;
+    private Integer minDuration;
+    private Integer maxDuration;
+    private Long trainerId;
+}
@@ -0,0 +1,25 @@
+package com.fitplanhub.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for one plan's new subscriptions and revenue on one day
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanDailyStat {
+    private Long planId;
+    private LocalDate day;
+    private Long subscriptions;
+    private Double revenue;
+
+    // carried to the plan's summary, not repeated per day
+    @JsonIgnore
+    private String planTitle;
+}
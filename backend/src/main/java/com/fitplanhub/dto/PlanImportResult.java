@@ -0,0 +1,37 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the outcome of a bulk plan import
+ * Rows are numbered from 0 in the order they appear in the request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanImportResult {
+    private int received;
+    private int imported;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String message;
+    }
+
+    public void addError(int row, String message) {
+        errors.add(new RowError(row, message));
+    }
+
+    public int getFailed() {
+        return errors.size();
+    }
+}
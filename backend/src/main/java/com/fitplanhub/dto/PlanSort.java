@@ -0,0 +1,81 @@
+package com.fitplanhub.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Sort orders supported by the plan catalogue browse
+ * Plan ID is the tie-breaker, in the same direction as the sort key
+ */
+public enum PlanSort {
+
+    NEWEST("p.createdAt", false),
+    PRICE_ASC("p.price", true),
+    PRICE_DESC("p.price", false),
+    DURATION_ASC("p.duration", true),
+    DURATION_DESC("p.duration", false);
+
+    private final String path;
+    private final boolean ascending;
+
+    PlanSort(String path, boolean ascending) {
+        this.path = path;
+        this.ascending = ascending;
+    }
+
+    /**
+     * JPQL path of the sort key (alias "p")
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Parse the sort request parameter (case-insensitive, e.g. "price_asc")
+     */
+    public static PlanSort fromParam(String value) {
+        try {
+            return PlanSort.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid sort: " + value);
+        }
+    }
+
+    /**
+     * Sort key value of a catalogue row, as stored in a cursor
+     */
+    public Object keyOf(FitnessPlanSummary plan) {
+        switch (this) {
+            case NEWEST:
+                return plan.getCreatedAtTime();
+            case PRICE_ASC:
+            case PRICE_DESC:
+                return plan.getPrice();
+            default:
+                return plan.getDuration();
+        }
+    }
+
+    /**
+     * Parse a sort key value read back from a cursor
+     */
+    public Object parseKey(String raw) {
+        try {
+            switch (this) {
+                case NEWEST:
+                    return LocalDateTime.parse(raw);
+                case PRICE_ASC:
+                case PRICE_DESC:
+                    return Double.parseDouble(raw);
+                default:
+                    return Integer.parseInt(raw);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A plan a user is subscribed to and when that subscription expires (null = never)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscribedPlan {
+    private Long planId;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,33 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * DTO for one subscription in a trainer's subscriber export
+ * Built directly by a JPQL constructor projection
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriberExportRow {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private Long subscriptionId;
+    private Long userId;
+    private String userName;
+    private Long planId;
+    private String planTitle;
+    private Double price;
+    private String subscribedAt;
+
+    public SubscriberExportRow(Long subscriptionId, Long userId, String userName, Long planId,
+                               String planTitle, Double price, LocalDateTime subscribedAt) {
+        this(subscriptionId, userId, userName, planId, planTitle, price, subscribedAt.format(DATE_FORMATTER));
+    }
+}
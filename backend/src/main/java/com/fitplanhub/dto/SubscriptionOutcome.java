@@ -0,0 +1,22 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the result of subscribing to one plan of a batch
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionOutcome {
+
+    public enum Status {
+        SUBSCRIBED, ALREADY_SUBSCRIBED, NOT_FOUND, FAILED
+    }
+
+    private Long planId;
+    private Status status;
+    private String message;
+}
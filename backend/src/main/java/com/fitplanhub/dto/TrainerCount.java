@@ -0,0 +1,16 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A trainer ID with an aggregate count (followers, subscriptions, ...)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerCount {
+    private Long trainerId;
+    private long count;
+}
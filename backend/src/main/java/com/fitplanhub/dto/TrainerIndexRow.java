@@ -0,0 +1,18 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Trainer fields needed to build the in-memory search structures
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerIndexRow {
+    private Long id;
+    private String fullName;
+    private String specializations;
+    private long followerCount;
+}
@@ -17,5 +17,6 @@ public class TrainerResponse {
     private String specializations;
     private Integer experience;
     private String bio;
+    private long followerCount;
     private boolean isFollowing; // Whether current user is following this trainer
 }
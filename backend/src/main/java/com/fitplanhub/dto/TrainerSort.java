@@ -0,0 +1,71 @@
+package com.fitplanhub.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Sort orders supported by the trainer directory
+ * Every order is descending on its key, with trainer ID as tie-breaker
+ */
+public enum TrainerSort {
+
+    EXPERIENCE("t.yearsOfExperience"),
+    NEWEST("t.createdAt"),
+    FOLLOWERS("t.followerCount");
+
+    private final String path;
+
+    TrainerSort(String path) {
+        this.path = path;
+    }
+
+    /**
+     * JPQL path of the sort key (alias "t")
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Parse the sort request parameter (case-insensitive)
+     */
+    public static TrainerSort fromParam(String value) {
+        try {
+            return TrainerSort.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid sort: " + value);
+        }
+    }
+
+    /**
+     * Sort key value of a directory row, as stored in a cursor
+     */
+    public Object keyOf(TrainerSummary trainer) {
+        switch (this) {
+            case EXPERIENCE:
+                return trainer.getExperience();
+            case NEWEST:
+                return trainer.getCreatedAt();
+            default:
+                return trainer.getFollowerCount();
+        }
+    }
+
+    /**
+     * Parse a sort key value read back from a cursor
+     */
+    public Object parseKey(String raw) {
+        try {
+            switch (this) {
+                case EXPERIENCE:
+                    return Integer.parseInt(raw);
+                case NEWEST:
+                    return LocalDateTime.parse(raw);
+                default:
+                    return Long.parseLong(raw);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.fitplanhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One typeahead completion: a trainer name or a specialization
+ * trainerId is null for specializations
+ */
+@Data
+@AllArgsConstructor
+public class TrainerSuggestion {
+    private final String text;
+    private final String type; // TRAINER or SPECIALIZATION
+    private final Long trainerId;
+    private final long weight;
+}
@@ -0,0 +1,40 @@
+package com.fitplanhub.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Trainer Summary DTO
+ * Lightweight trainer directory row (no bio); the full record
+ * is returned by the trainer detail endpoint
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerSummary {
+    private Long trainerId;
+    private String name;
+    private String specializations;
+    private Integer experience;
+    private long followerCount;
+    @JsonIgnore
+    private LocalDateTime createdAt; // only used to build "newest" cursors
+    private boolean isFollowing; // Whether current user is following this trainer
+
+    /**
+     * Constructor used by JPQL projections (follow status is filled in afterwards)
+     */
+    public TrainerSummary(Long trainerId, String name, String specializations,
+                          Integer experience, long followerCount, LocalDateTime createdAt) {
+        this.trainerId = trainerId;
+        this.name = name;
+        this.specializations = specializations;
+        this.experience = experience;
+        this.followerCount = followerCount;
+        this.createdAt = createdAt;
+    }
+}
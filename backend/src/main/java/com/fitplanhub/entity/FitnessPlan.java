@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
 
 /**
@@ -12,14 +13,25 @@ import java.time.LocalDateTime;
  * Represents a fitness plan created by a trainer
  */
 @Entity
-@Table(name = "fitness_plans")
+@Table(name = "fitness_plans", indexes = {
+    @Index(name = "idx_fitness_plans_trainer_created", columnList = "trainer_id, created_at, id"),
+    @Index(name = "idx_fitness_plans_trainer_price", columnList = "trainer_id, price, id"),
+    @Index(name = "idx_fitness_plans_trainer_duration", columnList = "trainer_id, duration, id"),
+    @Index(name = "idx_fitness_plans_created", columnList = "created_at, id"),
+    @Index(name = "idx_fitness_plans_price", columnList = "price, id"),
+    @Index(name = "idx_fitness_plans_duration", columnList = "duration, id"),
+    @Index(name = "idx_fitness_plans_deleted", columnList = "deleted_at")
+})
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class FitnessPlan {
 
+    // pooled sequence (a table on MySQL) so inserts can be batched; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fitness_plans_seq")
+    @SequenceGenerator(name = "fitness_plans_seq", sequenceName = "fitness_plans_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
@@ -48,6 +60,11 @@ public class FitnessPlan {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // set when the trainer deletes the plan; the row is hidden from every entity query
+    // and purged, with its subscriptions and timeline entries, by PlanCleanupService
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -12,13 +12,16 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "follows", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"user_id", "trainer_id"})
+    @UniqueConstraint(name = Follow.UK_USER_TRAINER, columnNames = {"user_id", "trainer_id"})
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Follow {
 
+    // duplicate follows are detected by this key rather than a prior lookup
+    public static final String UK_USER_TRAINER = "uk_follows_user_trainer";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,47 @@
+package com.fitplanhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * PlanDailyStats Entity
+ * Daily rollup of new subscriptions and revenue per plan, updated in the subscribe transaction
+ */
+@Entity
+@Table(name = "plan_daily_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_plan_daily_stats_plan_day", columnNames = {"plan_id", "stat_date"})
+}, indexes = {
+    @Index(name = "idx_plan_daily_stats_trainer_day", columnList = "trainer_id, stat_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "plan_id", nullable = false)
+    private Long planId;
+
+    @Column(name = "trainer_id", nullable = false)
+    private Long trainerId;
+
+    // "day" is a reserved word in several databases
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private Long subscriptions;
+
+    @Column(nullable = false)
+    private Double revenue;
+
+    // plan title as of the latest subscription that day, so analytics never reads fitness_plans
+    @Column(name = "plan_title")
+    private String planTitle;
+}
@@ -0,0 +1,34 @@
+package com.fitplanhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PlanSubscriberCount Entity
+ * Read model: current and lifetime subscribers per plan, maintained by the projector
+ */
+@Entity
+@Table(name = "plan_subscriber_counts", indexes = {
+    @Index(name = "idx_plan_subscriber_counts_trainer", columnList = "trainer_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanSubscriberCount {
+
+    @Id
+    @Column(name = "plan_id")
+    private Long planId;
+
+    @Column(name = "trainer_id", nullable = false)
+    private Long trainerId;
+
+    // subscriptions that have not expired or been cancelled
+    @Column(name = "active_subscribers", nullable = false)
+    private Long activeSubscribers;
+
+    @Column(name = "total_subscriptions", nullable = false)
+    private Long totalSubscriptions;
+}
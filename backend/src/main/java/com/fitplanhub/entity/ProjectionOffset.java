@@ -0,0 +1,29 @@
+package com.fitplanhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * ProjectionOffset Entity
+ * Last ledger event applied by a projector; updated in the same transaction as the read models
+ */
+@Entity
+@Table(name = "projection_offsets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionOffset {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
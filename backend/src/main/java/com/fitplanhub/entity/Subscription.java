@@ -12,15 +12,23 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "subscriptions", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"user_id", "plan_id"})
+    @UniqueConstraint(name = Subscription.UK_USER_PLAN, columnNames = {"user_id", "plan_id"})
+}, indexes = {
+    // the expiry job reads unprocessed rows (expired_at IS NULL) in expires_at order
+    @Index(name = "idx_subscriptions_due", columnList = "expired_at, expires_at")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Subscription {
 
+    // duplicate subscriptions are detected by this key rather than a prior lookup
+    public static final String UK_USER_PLAN = "uk_subscriptions_user_plan";
+
+    // pooled sequence (a table on MySQL) so batch checkouts can insert in one JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subscriptions_seq")
+    @SequenceGenerator(name = "subscriptions_seq", sequenceName = "subscriptions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,8 +42,18 @@ public class Subscription {
     @Column(name = "subscribed_at", nullable = false)
     private LocalDateTime subscribedAt;
 
+    // purchase time plus the plan's duration in days; null means it never expires
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    // set by the expiry job; the row is kept so the user's subscriptions still list it
+    @Column(name = "expired_at")
+    private LocalDateTime expiredAt;
+
     @PrePersist
     protected void onCreate() {
-        subscribedAt = LocalDateTime.now();
+        if (subscribedAt == null) {
+            subscribedAt = LocalDateTime.now();
+        }
     }
 }
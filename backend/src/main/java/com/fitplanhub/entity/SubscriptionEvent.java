@@ -0,0 +1,61 @@
+package com.fitplanhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * SubscriptionEvent Entity
+ * Append-only ledger of subscription changes, written in the same transaction as the change
+ * The ID is the ledger offset read by the projector; IDs and plan details are copied rather
+ * than joined so events outlive purged plans and subscriptions
+ */
+@Entity
+@Table(name = "subscription_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionEvent {
+
+    public enum Type {
+        SUBSCRIBED,
+        EXPIRED,
+        CANCELLED
+    }
+
+    // IDENTITY keeps offsets increasing in insert order, which the projector relies on
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Type type;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "plan_id", nullable = false)
+    private Long planId;
+
+    @Column(name = "trainer_id", nullable = false)
+    private Long trainerId;
+
+    @Column(name = "plan_title")
+    private String planTitle;
+
+    // amount paid; null for events that don't involve a payment
+    private Double price;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (occurredAt == null) {
+            occurredAt = LocalDateTime.now();
+        }
+    }
+}
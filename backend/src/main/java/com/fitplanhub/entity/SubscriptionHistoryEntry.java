@@ -0,0 +1,44 @@
+package com.fitplanhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * SubscriptionHistoryEntry Entity
+ * Read model: a user's subscription history, one row per ledger event, maintained by the projector
+ */
+@Entity
+@Table(name = "user_subscription_history", indexes = {
+    @Index(name = "idx_user_subscription_history_user", columnList = "user_id, event_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionHistoryEntry {
+
+    // same as the ledger event ID, so re-applying an event can't duplicate it
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "plan_id", nullable = false)
+    private Long planId;
+
+    @Column(name = "plan_title")
+    private String planTitle;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SubscriptionEvent.Type type;
+
+    private Double price;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,44 @@
+package com.fitplanhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * TimelineEntry Entity
+ * One row per (follower, plan) in a user's materialized feed timeline
+ * Only the sort key is copied; plan content is joined at read time
+ */
+@Entity
+@Table(name = "user_timeline", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "plan_id"})
+}, indexes = {
+    @Index(name = "idx_user_timeline_feed", columnList = "user_id, plan_created_at, plan_id"),
+    @Index(name = "idx_user_timeline_plan", columnList = "plan_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "trainer_id", nullable = false)
+    private Trainer trainer;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "plan_id", nullable = false)
+    private FitnessPlan plan;
+
+    @Column(name = "plan_created_at", nullable = false)
+    private LocalDateTime planCreatedAt;
+}
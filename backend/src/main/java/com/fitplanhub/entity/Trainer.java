@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
  * Represents a fitness trainer with their professional information
  */
 @Entity
-@Table(name = "trainers")
+@Table(name = "trainers", indexes = {
+    @Index(name = "idx_trainers_experience", columnList = "yearsOfExperience, id"),
+    @Index(name = "idx_trainers_created", columnList = "createdAt, id"),
+    @Index(name = "idx_trainers_followers", columnList = "follower_count, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -51,6 +55,12 @@ public class Trainer {
     @Column(nullable = false)
     private String role = "TRAINER"; // Default role for all trainers
 
+    @Column(name = "follower_count", nullable = false)
+    private long followerCount = 0; // Denormalized number of followers
+
+    @Column(name = "feed_pull_mode", nullable = false)
+    private boolean feedPullMode = false; // Followers pull this trainer's plans instead of receiving fan-out
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
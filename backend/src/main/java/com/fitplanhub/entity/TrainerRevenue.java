@@ -0,0 +1,28 @@
+package com.fitplanhub.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * TrainerRevenue Entity
+ * Read model: lifetime revenue and subscription count per trainer, maintained by the projector
+ */
+@Entity
+@Table(name = "trainer_revenue")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainerRevenue {
+
+    @Id
+    @Column(name = "trainer_id")
+    private Long trainerId;
+
+    @Column(nullable = false)
+    private Double revenue;
+
+    @Column(nullable = false)
+    private Long subscriptions;
+}
@@ -1,16 +1,29 @@
 package com.fitplanhub.repository;
 
+import com.fitplanhub.dto.FitnessPlanResponse;
+import com.fitplanhub.dto.FitnessPlanSummary;
 import com.fitplanhub.entity.FitnessPlan;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for FitnessPlan entity
  */
 @Repository
-public interface FitnessPlanRepository extends JpaRepository<FitnessPlan, Long> {
+public interface FitnessPlanRepository extends JpaRepository<FitnessPlan, Long>, FitnessPlanRepositoryCustom {
     
     /**
      * Find all fitness plans created by a specific trainer
@@ -21,4 +34,96 @@ public interface FitnessPlanRepository extends JpaRepository<FitnessPlan, Long>
      * Find fitness plans by trainer ID ordered by creation date (newest first)
      */
     List<FitnessPlan> findByTrainerIdOrderByCreatedAtDesc(Long trainerId);
+
+    /**
+     * Full response of one plan, selected column by column with the trainer name joined in
+     */
+    @Query("SELECT new com.fitplanhub.dto.FitnessPlanResponse(p.id, p.title, p.description, p.price, " +
+           "p.duration, t.id, t.fullName, p.createdAt) " +
+           "FROM FitnessPlan p JOIN p.trainer t WHERE p.id = :planId")
+    Optional<FitnessPlanResponse> findResponseById(@Param("planId") Long planId);
+
+    /**
+     * Full responses of several plans in one query
+     */
+    @Query("SELECT new com.fitplanhub.dto.FitnessPlanResponse(p.id, p.title, p.description, p.price, " +
+           "p.duration, t.id, t.fullName, p.createdAt) " +
+           "FROM FitnessPlan p JOIN p.trainer t WHERE p.id IN :planIds")
+    List<FitnessPlanResponse> findResponsesByIdIn(@Param("planIds") Collection<Long> planIds);
+
+    /**
+     * Full responses of a trainer's plans, newest first
+     */
+    @Query("SELECT new com.fitplanhub.dto.FitnessPlanResponse(p.id, p.title, p.description, p.price, " +
+           "p.duration, t.id, t.fullName, p.createdAt) " +
+           "FROM FitnessPlan p JOIN p.trainer t WHERE t.id = :trainerId " +
+           "ORDER BY p.createdAt DESC")
+    List<FitnessPlanResponse> findResponsesByTrainerId(@Param("trainerId") Long trainerId);
+
+    /**
+     * Stream a trainer's plans for export, oldest first
+     * MySQL Connector/J only streams row by row (instead of buffering the whole
+     * result) when the fetch size is Integer.MIN_VALUE; must run inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.fitplanhub.dto.FitnessPlanResponse(p.id, p.title, p.description, p.price, " +
+           "p.duration, t.id, t.fullName, p.createdAt) " +
+           "FROM FitnessPlan p JOIN p.trainer t WHERE t.id = :trainerId " +
+           "ORDER BY p.id")
+    Stream<FitnessPlanResponse> streamResponsesByTrainerId(@Param("trainerId") Long trainerId);
+
+    /**
+     * Listing rows for the given plans (unordered)
+     */
+    @Query("SELECT new com.fitplanhub.dto.FitnessPlanSummary(p.id, p.title, p.description, p.price, " +
+           "p.duration, t.id, t.fullName, p.createdAt) " +
+           "FROM FitnessPlan p JOIN p.trainer t WHERE p.id IN :planIds")
+    List<FitnessPlanSummary> findSummariesByIdIn(@Param("planIds") Collection<Long> planIds);
+
+    /**
+     * Soft-deleted plans still waiting to be purged, oldest deletion first
+     * Native, because entity queries never see soft-deleted rows
+     */
+    @Query(value = "SELECT id FROM fitness_plans WHERE deleted_at IS NOT NULL " +
+                   "ORDER BY deleted_at, id LIMIT :limit", nativeQuery = true)
+    List<Long> findSoftDeletedPlanIds(@Param("limit") int limit);
+
+    /**
+     * Number of soft-deleted plans not purged yet
+     */
+    @Query(value = "SELECT COUNT(*) FROM fitness_plans WHERE deleted_at IS NOT NULL", nativeQuery = true)
+    long countSoftDeleted();
+
+    /**
+     * Remove a soft-deleted plan row once nothing references it any more
+     */
+    @Modifying
+    @Query(value = "DELETE FROM fitness_plans WHERE id = :planId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeSoftDeleted(@Param("planId") Long planId);
+
+    /**
+     * Get one page of a single trainer's plans, newest first, with the trainer loaded
+     * Keyset pagination: pass null cursor values for the first page,
+     * otherwise the (createdAt, id) of the last plan on the previous page
+     */
+    @Query("SELECT p FROM FitnessPlan p JOIN FETCH p.trainer t " +
+           "WHERE t.id = :trainerId " +
+           "AND (:cursorCreatedAt IS NULL OR p.createdAt < :cursorCreatedAt " +
+           "OR (p.createdAt = :cursorCreatedAt AND p.id < :cursorId)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<FitnessPlan> findTrainerPlansPage(@Param("trainerId") Long trainerId,
+                                           @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
+
+    /**
+     * Move the emulated ID sequence (MySQL) past the highest existing plan ID
+     * Hibernate's pooled optimizer hands out the block (next_val - allocationSize, next_val],
+     * so next_val must be at least MAX(id) + allocationSize; never moves the sequence back
+     */
+    @Modifying
+    @Query(value = "UPDATE fitness_plans_seq SET next_val = " +
+                   "GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) FROM fitness_plans) + :allocationSize)",
+           nativeQuery = true)
+    int seedIdSequence(@Param("allocationSize") int allocationSize);
 }
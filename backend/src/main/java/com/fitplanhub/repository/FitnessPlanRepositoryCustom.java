@@ -0,0 +1,25 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.dto.FitnessPlanSummary;
+import com.fitplanhub.dto.PlanBrowseFilter;
+import com.fitplanhub.dto.PlanSort;
+
+import java.util.List;
+
+/**
+ * Custom queries for the plan catalogue that need dynamic filters and sort column
+ */
+public interface FitnessPlanRepositoryCustom {
+
+    /**
+     * Get one page of plan summaries matching the filter, in the given order (keyset pagination)
+     *
+     * @param filter price/duration ranges and trainer, unset fields are ignored
+     * @param sort sort order
+     * @param cursorKey sort key of the last row on the previous page, or null for the first page
+     * @param cursorId ID of the last row on the previous page, or null for the first page
+     * @param limit maximum rows to return
+     */
+    List<FitnessPlanSummary> findBrowsePage(PlanBrowseFilter filter, PlanSort sort,
+                                            Object cursorKey, Long cursorId, int limit);
+}
@@ -0,0 +1,68 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.dto.FitnessPlanSummary;
+import com.fitplanhub.dto.PlanBrowseFilter;
+import com.fitplanhub.dto.PlanSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the plan catalogue queries
+ * Each sort order reads an index on (sort key, id), or (trainer_id, sort key, id)
+ * when filtering by trainer, so a page costs the page size plus rows skipped by range filters
+ */
+public class FitnessPlanRepositoryImpl implements FitnessPlanRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FitnessPlanSummary> findBrowsePage(PlanBrowseFilter filter, PlanSort sort,
+                                                   Object cursorKey, Long cursorId, int limit) {
+        String key = sort.getPath();
+        String dir = sort.isAscending() ? "ASC" : "DESC";
+        String after = sort.isAscending() ? " > " : " < ";
+        Map<String, Object> params = new HashMap<>();
+
+        StringBuilder jpql = new StringBuilder(
+            "SELECT new com.fitplanhub.dto.FitnessPlanSummary(p.id, p.title, p.description, p.price, " +
+            "p.duration, t.id, t.fullName, p.createdAt) " +
+            "FROM FitnessPlan p JOIN p.trainer t WHERE 1 = 1");
+        if (filter.getTrainerId() != null) {
+            jpql.append(" AND t.id = :trainerId");
+            params.put("trainerId", filter.getTrainerId());
+        }
+        if (filter.getMinPrice() != null) {
+            jpql.append(" AND p.price >= :minPrice");
+            params.put("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            jpql.append(" AND p.price <= :maxPrice");
+            params.put("maxPrice", filter.getMaxPrice());
+        }
+        if (filter.getMinDuration() != null) {
+            jpql.append(" AND p.duration >= :minDuration");
+            params.put("minDuration", filter.getMinDuration());
+        }
+        if (filter.getMaxDuration() != null) {
+            jpql.append(" AND p.duration <= :maxDuration");
+            params.put("maxDuration", filter.getMaxDuration());
+        }
+        if (cursorKey != null) {
+            jpql.append(" AND (").append(key).append(after).append(":cursorKey OR (")
+                .append(key).append(" = :cursorKey AND p.id").append(after).append(":cursorId))");
+            params.put("cursorKey", cursorKey);
+            params.put("cursorId", cursorId);
+        }
+        jpql.append(" ORDER BY ").append(key).append(' ').append(dir).append(", p.id ").append(dir);
+
+        TypedQuery<FitnessPlanSummary> query = entityManager.createQuery(jpql.toString(), FitnessPlanSummary.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -20,6 +20,12 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
      */
     List<Follow> findByUserId(Long userId);
     
+    /**
+     * Get IDs of all trainers followed by a user
+     */
+    @Query("SELECT f.trainer.id FROM Follow f WHERE f.user.id = :userId")
+    List<Long> findFollowedTrainerIds(@Param("userId") Long userId);
+    
     /**
      * Check if a user is following a specific trainer
      */
@@ -36,6 +42,18 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     @Query("SELECT f FROM Follow f JOIN FETCH f.trainer WHERE f.user.id = :userId")
     List<Follow> findFollowsWithTrainersByUserId(@Param("userId") Long userId);
     
+    /**
+     * Get IDs of followed trainers whose plans are read in pull mode
+     */
+    @Query("SELECT f.trainer.id FROM Follow f WHERE f.user.id = :userId AND f.trainer.feedPullMode = true")
+    List<Long> findFollowedPullModeTrainerIds(@Param("userId") Long userId);
+    
+    /**
+     * Get IDs of all users following a trainer
+     */
+    @Query("SELECT f.user.id FROM Follow f WHERE f.trainer.id = :trainerId")
+    List<Long> findFollowerIdsByTrainerId(@Param("trainerId") Long trainerId);
+    
     /**
      * Count followers for a specific trainer
      */
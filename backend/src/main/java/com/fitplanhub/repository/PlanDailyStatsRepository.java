@@ -0,0 +1,43 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.dto.PlanDailyStat;
+import com.fitplanhub.entity.PlanDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for PlanDailyStats entity (daily subscription rollups)
+ */
+@Repository
+public interface PlanDailyStatsRepository extends JpaRepository<PlanDailyStats, Long> {
+
+    /**
+     * Add subscriptions and revenue to a plan's row for the day, creating it on first use
+     * (the stored title follows the plan's latest title)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO plan_daily_stats (plan_id, trainer_id, stat_date, subscriptions, revenue, plan_title) " +
+                   "VALUES (:planId, :trainerId, :day, :subscriptions, :revenue, :planTitle) " +
+                   "ON DUPLICATE KEY UPDATE subscriptions = subscriptions + VALUES(subscriptions), " +
+                   "revenue = revenue + VALUES(revenue), plan_title = VALUES(plan_title)", nativeQuery = true)
+    int increment(@Param("planId") Long planId,
+                  @Param("trainerId") Long trainerId,
+                  @Param("day") LocalDate day,
+                  @Param("subscriptions") long subscriptions,
+                  @Param("revenue") double revenue,
+                  @Param("planTitle") String planTitle);
+
+    /**
+     * Daily rows of all of a trainer's plans from `since` on (reads idx_plan_daily_stats_trainer_day)
+     */
+    @Query("SELECT new com.fitplanhub.dto.PlanDailyStat(d.planId, d.day, d.subscriptions, d.revenue, d.planTitle) " +
+           "FROM PlanDailyStats d WHERE d.trainerId = :trainerId AND d.day >= :since " +
+           "ORDER BY d.planId, d.day")
+    List<PlanDailyStat> findByTrainerSince(@Param("trainerId") Long trainerId, @Param("since") LocalDate since);
+}
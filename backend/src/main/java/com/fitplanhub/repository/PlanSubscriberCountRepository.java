@@ -0,0 +1,36 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.entity.PlanSubscriberCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for PlanSubscriberCount entity (projection of the subscription ledger)
+ */
+@Repository
+public interface PlanSubscriberCountRepository extends JpaRepository<PlanSubscriberCount, Long> {
+
+    /**
+     * Subscriber counts of all plans of a trainer
+     */
+    List<PlanSubscriberCount> findByTrainerIdOrderByPlanId(Long trainerId);
+
+    /**
+     * Add the given ledger events to the per-plan counts
+     */
+    @Modifying
+    @Query(value = "INSERT INTO plan_subscriber_counts (plan_id, trainer_id, active_subscribers, total_subscriptions) " +
+                   "SELECT e.plan_id, MAX(e.trainer_id), " +
+                   "SUM(CASE WHEN e.type = 'SUBSCRIBED' THEN 1 ELSE -1 END), " +
+                   "SUM(CASE WHEN e.type = 'SUBSCRIBED' THEN 1 ELSE 0 END) " +
+                   "FROM subscription_events e WHERE e.id IN (:eventIds) GROUP BY e.plan_id " +
+                   "ON DUPLICATE KEY UPDATE active_subscribers = active_subscribers + VALUES(active_subscribers), " +
+                   "total_subscriptions = total_subscriptions + VALUES(total_subscriptions)", nativeQuery = true)
+    int applyEvents(@Param("eventIds") Collection<Long> eventIds);
+}
@@ -0,0 +1,25 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.entity.ProjectionOffset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for ProjectionOffset entity
+ */
+@Repository
+public interface ProjectionOffsetRepository extends JpaRepository<ProjectionOffset, String> {
+
+    /**
+     * Read a projector's offset and lock it, so only one instance applies events at a time
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM ProjectionOffset o WHERE o.name = :name")
+    Optional<ProjectionOffset> findForUpdate(@Param("name") String name);
+}
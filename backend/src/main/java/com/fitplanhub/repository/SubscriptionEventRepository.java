@@ -0,0 +1,32 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.entity.SubscriptionEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for SubscriptionEvent entity (append-only ledger)
+ */
+@Repository
+public interface SubscriptionEventRepository extends JpaRepository<SubscriptionEvent, Long> {
+
+    /**
+     * IDs of events after the given offset that have not been projected yet, in ledger order
+     * (every projected event has a history row keyed by its ID)
+     */
+    @Query("SELECT e.id FROM SubscriptionEvent e WHERE e.id > :afterId " +
+           "AND NOT EXISTS (SELECT h.eventId FROM SubscriptionHistoryEntry h WHERE h.eventId = e.id) " +
+           "ORDER BY e.id")
+    List<Long> findUnappliedIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Highest event ID, used to report how far behind the projector is
+     */
+    @Query("SELECT MAX(e.id) FROM SubscriptionEvent e")
+    Long findMaxId();
+}
@@ -0,0 +1,51 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.entity.SubscriptionHistoryEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for SubscriptionHistoryEntry entity (projection of the subscription ledger)
+ */
+@Repository
+public interface SubscriptionHistoryRepository extends JpaRepository<SubscriptionHistoryEntry, Long> {
+
+    /**
+     * One page of a user's history, newest first; pass null beforeId for the first page
+     */
+    @Query("SELECT h FROM SubscriptionHistoryEntry h WHERE h.userId = :userId " +
+           "AND (:beforeId IS NULL OR h.eventId < :beforeId) ORDER BY h.eventId DESC")
+    List<SubscriptionHistoryEntry> findPage(@Param("userId") Long userId,
+                                            @Param("beforeId") Long beforeId,
+                                            Pageable pageable);
+
+    /**
+     * IDs of projected events in (afterId, upToId], in ledger order
+     */
+    @Query("SELECT h.eventId FROM SubscriptionHistoryEntry h WHERE h.eventId > :afterId AND h.eventId <= :upToId " +
+           "ORDER BY h.eventId")
+    List<Long> findAppliedIds(@Param("afterId") Long afterId, @Param("upToId") Long upToId, Pageable pageable);
+
+    /**
+     * When a projected event was recorded in the ledger
+     */
+    @Query("SELECT h.occurredAt FROM SubscriptionHistoryEntry h WHERE h.eventId = :eventId")
+    LocalDateTime findOccurredAt(@Param("eventId") Long eventId);
+
+    /**
+     * Copy the given ledger events into the users' histories
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_subscription_history (event_id, user_id, plan_id, plan_title, type, price, occurred_at) " +
+                   "SELECT e.id, e.user_id, e.plan_id, e.plan_title, e.type, e.price, e.occurred_at " +
+                   "FROM subscription_events e WHERE e.id IN (:eventIds)", nativeQuery = true)
+    int applyEvents(@Param("eventIds") Collection<Long> eventIds);
+}
@@ -1,13 +1,26 @@
 package com.fitplanhub.repository;
 
+import com.fitplanhub.dto.ExpiringSubscription;
+import com.fitplanhub.dto.SubscribedPlan;
+import com.fitplanhub.dto.SubscriberExportRow;
+import com.fitplanhub.dto.TrainerCount;
 import com.fitplanhub.entity.Subscription;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Subscription entity
@@ -20,19 +33,144 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
      */
     List<Subscription> findByUserId(Long userId);
     
+    /**
+     * Plans a user has an unexpired subscription to, with their expiry, without loading the subscriptions
+     */
+    @Query("SELECT new com.fitplanhub.dto.SubscribedPlan(s.plan.id, s.expiresAt) FROM Subscription s " +
+           "WHERE s.user.id = :userId AND (s.expiresAt IS NULL OR s.expiresAt > :now)")
+    List<SubscribedPlan> findActivePlansByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    /**
+     * Subscriptions that expired at or before `now` and are not marked yet, earliest first (reads idx_subscriptions_due)
+     */
+    @Query("SELECT new com.fitplanhub.dto.ExpiringSubscription(s.id, s.user.id, p.id, p.trainer.id, p.title) " +
+           "FROM Subscription s JOIN s.plan p WHERE s.expiredAt IS NULL AND s.expiresAt <= :now ORDER BY s.expiresAt")
+    List<ExpiringSubscription> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    /**
+     * Lock the given subscriptions that still exist, are still expired at `now` and are not marked yet
+     * Rows a concurrent re-subscribe already marked or replaced are skipped, so only the returned IDs may be marked
+     */
+    @Query(value = "SELECT id FROM subscriptions WHERE id IN (:ids) AND expired_at IS NULL " +
+                   "AND expires_at <= :now FOR UPDATE", nativeQuery = true)
+    List<Long> lockExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    /**
+     * Mark subscriptions as processed by the expiry job
+     */
+    @Modifying
+    @Query("UPDATE Subscription s SET s.expiredAt = :now WHERE s.id IN :ids")
+    int markExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    /**
+     * Mark a user's subscription to a plan as expired if it ran out and the expiry job hasn't marked it yet
+     */
+    @Modifying
+    @Query("UPDATE Subscription s SET s.expiredAt = :now WHERE s.user.id = :userId AND s.plan.id = :planId " +
+           "AND s.expiredAt IS NULL AND s.expiresAt <= :now")
+    int markExpired(@Param("userId") Long userId, @Param("planId") Long planId, @Param("now") LocalDateTime now);
+    
+    /**
+     * Remove a user's expired subscription to a plan (so the plan can be bought again)
+     */
+    @Modifying
+    @Query("DELETE FROM Subscription s WHERE s.user.id = :userId AND s.plan.id = :planId AND s.expiredAt IS NOT NULL")
+    int deleteExpired(@Param("userId") Long userId, @Param("planId") Long planId);
+    
     /**
      * Check if a user is subscribed to a specific plan
      */
     boolean existsByUserIdAndPlanId(Long userId, Long planId);
     
+    /**
+     * Count subscriptions of a plan
+     */
+    long countByPlanId(Long planId);
+    
+    /**
+     * Count subscriptions of a plan not yet expired
+     */
+    long countByPlanIdAndExpiredAtIsNull(Long planId);
+    
     /**
      * Find subscription by user ID and plan ID
      */
     Optional<Subscription> findByUserIdAndPlanId(Long userId, Long planId);
     
+    /**
+     * Number of subscriptions across each trainer's plans
+     */
+    @Query("SELECT new com.fitplanhub.dto.TrainerCount(p.trainer.id, COUNT(s)) " +
+           "FROM Subscription s JOIN s.plan p WHERE s.expiredAt IS NULL GROUP BY p.trainer.id")
+    List<TrainerCount> countSubscriptionsPerTrainer();
+    
+    /**
+     * Plans with the most subscriptions since the given time, most subscribed first
+     */
+    @Query("SELECT s.plan.id FROM Subscription s WHERE s.subscribedAt >= :since " +
+           "GROUP BY s.plan.id ORDER BY COUNT(s) DESC, s.plan.id DESC")
+    List<Long> findMostSubscribedPlanIdsSince(@Param("since") LocalDateTime since, Pageable pageable);
+    
+    /**
+     * Stream every subscription to a trainer's plans for export, oldest first
+     * Fetch size Integer.MIN_VALUE makes MySQL stream row by row; must run inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.fitplanhub.dto.SubscriberExportRow(s.id, u.id, u.fullName, p.id, p.title, " +
+           "p.price, s.subscribedAt) " +
+           "FROM Subscription s JOIN s.user u JOIN s.plan p WHERE p.trainer.id = :trainerId AND s.expiredAt IS NULL " +
+           "ORDER BY s.id")
+    Stream<SubscriberExportRow> streamSubscribersByTrainerId(@Param("trainerId") Long trainerId);
+    
+    /**
+     * One batch of a soft-deleted plan's unexpired subscriptions, with the fields the ledger needs
+     * Native because JPQL joins to FitnessPlan apply its deleted_at IS NULL restriction
+     */
+    @Query(value = "SELECT s.id, s.user_id, p.id, p.trainer_id, p.title FROM subscriptions s " +
+                   "JOIN fitness_plans p ON p.id = s.plan_id WHERE s.plan_id = :planId " +
+                   "AND s.expired_at IS NULL ORDER BY s.id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findBatchRowsByPlanId(@Param("planId") Long planId, @Param("limit") int limit);
+    
+    default List<ExpiringSubscription> findBatchByPlanId(Long planId, int limit) {
+        List<Object[]> rows = findBatchRowsByPlanId(planId, limit);
+        List<ExpiringSubscription> batch = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            batch.add(new ExpiringSubscription(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue(), ((Number) row[3]).longValue(), (String) row[4]));
+        }
+        return batch;
+    }
+    
+    /**
+     * Lock the given subscriptions that still exist and are not expired
+     * Rows removed or expired concurrently are skipped
+     */
+    @Query(value = "SELECT id FROM subscriptions WHERE id IN (:ids) AND expired_at IS NULL FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockUnexpired(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Delete up to `limit` expired subscriptions of a (soft-deleted) plan
+     * Their expiry is already in the ledger, so no event is written for them
+     */
+    @Modifying
+    @Query(value = "DELETE FROM subscriptions WHERE plan_id = :planId AND expired_at IS NOT NULL LIMIT :limit",
+           nativeQuery = true)
+    int deleteExpiredBatchByPlanId(@Param("planId") Long planId, @Param("limit") int limit);
+    
     /**
      * Get all fitness plans subscribed by a user
      */
     @Query("SELECT s FROM Subscription s JOIN FETCH s.plan WHERE s.user.id = :userId")
     List<Subscription> findSubscriptionsWithPlansByUserId(@Param("userId") Long userId);
+
+    /**
+     * Move the emulated ID sequence (MySQL) past the highest existing subscription ID,
+     * never moving it back (see FitnessPlanRepository#seedIdSequence)
+     */
+    @Modifying
+    @Query(value = "UPDATE subscriptions_seq SET next_val = " +
+                   "GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) FROM subscriptions) + :allocationSize)",
+           nativeQuery = true)
+    int seedIdSequence(@Param("allocationSize") int allocationSize);
 }
@@ -0,0 +1,98 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.entity.TimelineEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for TimelineEntry entity (materialized user feeds)
+ */
+@Repository
+public interface TimelineRepository extends JpaRepository<TimelineEntry, Long> {
+
+    /**
+     * Get one page of a user's timeline, newest first, with plan and trainer loaded
+     * Pass null cursor values for the first page
+     */
+    @Query("SELECT e FROM TimelineEntry e JOIN FETCH e.plan p JOIN FETCH p.trainer " +
+           "WHERE e.user.id = :userId " +
+           "AND (:cursorCreatedAt IS NULL OR e.planCreatedAt < :cursorCreatedAt " +
+           "OR (e.planCreatedAt = :cursorCreatedAt AND e.plan.id < :cursorId)) " +
+           "ORDER BY e.planCreatedAt DESC, e.plan.id DESC")
+    List<TimelineEntry> findTimelinePage(@Param("userId") Long userId,
+                                         @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable pageable);
+
+    /**
+     * Push a new plan onto the timeline of every follower of its trainer
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_timeline (user_id, trainer_id, plan_id, plan_created_at) " +
+                   "SELECT f.user_id, f.trainer_id, :planId, :planCreatedAt FROM follows f " +
+                   "WHERE f.trainer_id = :trainerId", nativeQuery = true)
+    int fanOutPlan(@Param("trainerId") Long trainerId,
+                   @Param("planId") Long planId,
+                   @Param("planCreatedAt") LocalDateTime planCreatedAt);
+
+    /**
+     * Push several new plans of one trainer onto the timelines of all their followers
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_timeline (user_id, trainer_id, plan_id, plan_created_at) " +
+                   "SELECT f.user_id, f.trainer_id, p.id, p.created_at FROM follows f " +
+                   "JOIN fitness_plans p ON p.trainer_id = f.trainer_id " +
+                   "WHERE f.trainer_id = :trainerId AND p.id IN (:planIds)", nativeQuery = true)
+    int fanOutPlans(@Param("trainerId") Long trainerId, @Param("planIds") Collection<Long> planIds);
+
+    /**
+     * Copy all of a trainer's existing plans into one user's timeline (after a follow)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_timeline (user_id, trainer_id, plan_id, plan_created_at) " +
+                   "SELECT :userId, p.trainer_id, p.id, p.created_at FROM fitness_plans p " +
+                   "WHERE p.trainer_id = :trainerId AND p.deleted_at IS NULL", nativeQuery = true)
+    int backfillTrainerPlans(@Param("userId") Long userId, @Param("trainerId") Long trainerId);
+
+    /**
+     * IDs of followed trainers whose plans are fanned out (not in pull mode)
+     */
+    @Query(value = "SELECT DISTINCT f.trainer_id FROM follows f JOIN trainers t ON t.id = f.trainer_id " +
+                   "WHERE t.feed_pull_mode = false ORDER BY f.trainer_id", nativeQuery = true)
+    List<Long> findFollowedPushModeTrainerIds();
+
+    /**
+     * Add a trainer's live plans to every follower's timeline where they are missing
+     * Idempotent: rows already present are skipped
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_timeline (user_id, trainer_id, plan_id, plan_created_at) " +
+                   "SELECT f.user_id, f.trainer_id, p.id, p.created_at FROM follows f " +
+                   "JOIN fitness_plans p ON p.trainer_id = f.trainer_id " +
+                   "WHERE f.trainer_id = :trainerId AND p.deleted_at IS NULL " +
+                   "AND NOT EXISTS (SELECT 1 FROM user_timeline e " +
+                   "WHERE e.user_id = f.user_id AND e.plan_id = p.id)", nativeQuery = true)
+    int backfillMissingForTrainer(@Param("trainerId") Long trainerId);
+
+    /**
+     * Remove a trainer's plans from one user's timeline (after an unfollow)
+     */
+    @Modifying
+    @Query("DELETE FROM TimelineEntry e WHERE e.user.id = :userId AND e.trainer.id = :trainerId")
+    int deleteByUserIdAndTrainerId(@Param("userId") Long userId, @Param("trainerId") Long trainerId);
+
+    /**
+     * Remove a plan from up to `limit` timelines it was pushed to
+     */
+    @Modifying
+    @Query(value = "DELETE FROM user_timeline WHERE plan_id = :planId LIMIT :limit", nativeQuery = true)
+    int deleteBatchByPlanId(@Param("planId") Long planId, @Param("limit") int limit);
+}
@@ -1,10 +1,14 @@
 package com.fitplanhub.repository;
 
+import com.fitplanhub.dto.TrainerCount;
+import com.fitplanhub.dto.TrainerIndexRow;
 import com.fitplanhub.entity.Trainer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +17,7 @@ import java.util.Optional;
  * Provides database operations for Trainer entity
  */
 @Repository
-public interface TrainerRepository extends JpaRepository<Trainer, Long> {
+public interface TrainerRepository extends JpaRepository<Trainer, Long>, TrainerRepositoryCustom {
     
     /**
      * Find trainer by email address
@@ -32,6 +36,54 @@ public interface TrainerRepository extends JpaRepository<Trainer, Long> {
      */
     boolean existsByEmail(String email);
     
+    /**
+     * Add (or subtract) the same number of followers to several trainers' counters
+     */
+    @Modifying
+    @Query("UPDATE Trainer t SET t.followerCount = t.followerCount + :delta WHERE t.id IN :trainerIds")
+    int adjustFollowerCounts(@Param("trainerIds") Collection<Long> trainerIds, @Param("delta") long delta);
+    
+    /**
+     * Recompute follower counters from the follows table for an ID range
+     */
+    @Modifying
+    @Query("UPDATE Trainer t SET t.followerCount = " +
+           "(SELECT COUNT(f) FROM Follow f WHERE f.trainer.id = t.id) " +
+           "WHERE t.id BETWEEN :fromId AND :toId")
+    int recountFollowers(@Param("fromId") long fromId, @Param("toId") long toId);
+    
+    /**
+     * Follower counters of every trainer that has followers
+     */
+    @Query("SELECT new com.fitplanhub.dto.TrainerCount(t.id, t.followerCount) FROM Trainer t WHERE t.followerCount > 0")
+    List<TrainerCount> findFollowerCounts();
+    
+    /**
+     * Highest trainer ID, used to walk the table in ranges
+     */
+    @Query("SELECT MAX(t.id) FROM Trainer t")
+    Long findMaxId();
+    
+    /**
+     * Whether a trainer's followers read their plans in pull mode (null if the trainer doesn't exist)
+     */
+    @Query("SELECT t.feedPullMode FROM Trainer t WHERE t.id = :trainerId")
+    Boolean findFeedPullModeById(@Param("trainerId") Long trainerId);
+
+    /**
+     * Switch a trainer's followers to pull-mode feed reads
+     */
+    @Modifying
+    @Query("UPDATE Trainer t SET t.feedPullMode = true WHERE t.id = :trainerId")
+    int enableFeedPullMode(@Param("trainerId") Long trainerId);
+    
+    /**
+     * Load the fields used by the in-memory search indexes, in ID order
+     */
+    @Query("SELECT new com.fitplanhub.dto.TrainerIndexRow(t.id, t.fullName, t.specializations, t.followerCount) " +
+           "FROM Trainer t ORDER BY t.id")
+    List<TrainerIndexRow> findAllForIndexing();
+    
     /**
      * Search trainers by name or specialization
      * 
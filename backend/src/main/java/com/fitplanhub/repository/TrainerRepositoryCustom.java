@@ -0,0 +1,25 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.dto.TrainerSort;
+import com.fitplanhub.dto.TrainerSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom queries for the trainer directory that need a dynamic sort column
+ */
+public interface TrainerRepositoryCustom {
+
+    /**
+     * Get one page of trainer summaries in the given order (keyset pagination)
+     *
+     * @param sort sort order
+     * @param cursorKey sort key of the last row on the previous page, or null for the first page
+     * @param cursorId ID of the last row on the previous page, or null for the first page
+     * @param restrictToIds only return these trainers, or null for no restriction
+     * @param limit maximum rows to return
+     */
+    List<TrainerSummary> findDirectoryPage(TrainerSort sort, Object cursorKey, Long cursorId,
+                                           Collection<Long> restrictToIds, int limit);
+}
@@ -0,0 +1,48 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.dto.TrainerSort;
+import com.fitplanhub.dto.TrainerSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of the trainer directory queries
+ * Each sort order reads an index on (sort key, id), so a page costs the page size
+ */
+public class TrainerRepositoryImpl implements TrainerRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TrainerSummary> findDirectoryPage(TrainerSort sort, Object cursorKey, Long cursorId,
+                                                  Collection<Long> restrictToIds, int limit) {
+        String key = sort.getPath();
+        StringBuilder jpql = new StringBuilder(
+            "SELECT new com.fitplanhub.dto.TrainerSummary(" +
+            "t.id, t.fullName, t.specializations, t.yearsOfExperience, t.followerCount, t.createdAt) " +
+            "FROM Trainer t WHERE 1 = 1");
+        if (restrictToIds != null) {
+            jpql.append(" AND t.id IN :ids");
+        }
+        if (cursorKey != null) {
+            jpql.append(" AND (").append(key).append(" < :cursorKey OR (")
+                .append(key).append(" = :cursorKey AND t.id < :cursorId))");
+        }
+        jpql.append(" ORDER BY ").append(key).append(" DESC, t.id DESC");
+
+        TypedQuery<TrainerSummary> query = entityManager.createQuery(jpql.toString(), TrainerSummary.class);
+        if (restrictToIds != null) {
+            query.setParameter("ids", restrictToIds);
+        }
+        if (cursorKey != null) {
+            query.setParameter("cursorKey", cursorKey);
+            query.setParameter("cursorId", cursorId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.fitplanhub.repository;
+
+import com.fitplanhub.entity.TrainerRevenue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Repository for TrainerRevenue entity (projection of the subscription ledger)
+ */
+@Repository
+public interface TrainerRevenueRepository extends JpaRepository<TrainerRevenue, Long> {
+
+    /**
+     * Add the given ledger events to the per-trainer totals
+     */
+    @Modifying
+    @Query(value = "INSERT INTO trainer_revenue (trainer_id, revenue, subscriptions) " +
+                   "SELECT e.trainer_id, SUM(CASE WHEN e.type = 'SUBSCRIBED' THEN COALESCE(e.price, 0) ELSE 0 END), " +
+                   "SUM(CASE WHEN e.type = 'SUBSCRIBED' THEN 1 ELSE 0 END) " +
+                   "FROM subscription_events e WHERE e.id IN (:eventIds) GROUP BY e.trainer_id " +
+                   "ON DUPLICATE KEY UPDATE revenue = revenue + VALUES(revenue), " +
+                   "subscriptions = subscriptions + VALUES(subscriptions)", nativeQuery = true)
+    int applyEvents(@Param("eventIds") Collection<Long> eventIds);
+}
@@ -0,0 +1,125 @@
+package com.fitplanhub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitplanhub.dto.FitnessPlanSummary;
+import com.fitplanhub.dto.PlanBrowseFilter;
+import com.fitplanhub.dto.PlanSort;
+import com.fitplanhub.repository.FitnessPlanRepository;
+import com.fitplanhub.repository.SubscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// featured plans for the public landing page: ranked by recent subscriptions (topped up
+// with the newest plans), recomputed in the background and kept as ready-to-send JSON,
+// so landing page requests never reach the database
+@Service
+public class FeaturedPlansService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeaturedPlansService.class);
+
+    public static final int MAX_FEATURED = 24;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private FitnessPlanRepository fitnessPlanRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${featured.window-days:7}")
+    private int windowDays;
+
+    // immutable once published; responses[n - 1] is the full response body for limit n
+    private static final class Snapshot {
+        private final byte[][] responses;
+
+        private Snapshot(byte[][] responses) {
+            this.responses = responses;
+        }
+    }
+
+    private volatile Snapshot snapshot;
+
+    // response body for the first `limit` featured plans
+    public byte[] getFeaturedResponse(int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        int n = Math.max(1, Math.min(limit, MAX_FEATURED));
+        return current.responses[n - 1];
+    }
+
+    // rebuild off the request path and swap the whole snapshot in one write
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${featured.refresh-interval-ms:60000}",
+               fixedDelayString = "${featured.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        List<FitnessPlanSummary> featured = loadFeatured();
+        byte[][] responses = new byte[MAX_FEATURED][];
+        try {
+            for (int n = 1; n <= MAX_FEATURED; n++) {
+                Map<String, Object> resp = new LinkedHashMap<>();
+                resp.put("success", true);
+                resp.put("data", featured.subList(0, Math.min(n, featured.size())));
+                responses[n - 1] = objectMapper.writeValueAsBytes(resp);
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize featured plans", e);
+        }
+        snapshot = new Snapshot(responses);
+        log.debug("Featured plans snapshot rebuilt with {} plans", featured.size());
+    }
+
+    private List<FitnessPlanSummary> loadFeatured() {
+        List<Long> rankedIds = subscriptionRepository.findMostSubscribedPlanIdsSince(
+            LocalDateTime.now().minusDays(windowDays), PageRequest.of(0, MAX_FEATURED));
+
+        List<FitnessPlanSummary> featured = new ArrayList<>(MAX_FEATURED);
+        if (!rankedIds.isEmpty()) {
+            Map<Long, FitnessPlanSummary> byId = new HashMap<>();
+            for (FitnessPlanSummary plan : fitnessPlanRepository.findSummariesByIdIn(rankedIds)) {
+                byId.put(plan.getId(), plan);
+            }
+            for (Long planId : rankedIds) {
+                FitnessPlanSummary plan = byId.get(planId);
+                if (plan != null) {
+                    featured.add(plan);
+                }
+            }
+        }
+
+        // quiet week: fill the remaining slots with the newest plans
+        if (featured.size() < MAX_FEATURED) {
+            List<FitnessPlanSummary> newest = fitnessPlanRepository.findBrowsePage(
+                new PlanBrowseFilter(), PlanSort.NEWEST, null, null, MAX_FEATURED * 2);
+            for (FitnessPlanSummary plan : newest) {
+                if (featured.size() == MAX_FEATURED) {
+                    break;
+                }
+                if (!rankedIds.contains(plan.getId())) {
+                    featured.add(plan);
+                }
+            }
+        }
+        return featured;
+    }
+}
@@ -0,0 +1,139 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.CursorPage;
+import com.fitplanhub.dto.FitnessPlanResponse;
+import com.fitplanhub.repository.FollowRepository;
+import com.fitplanhub.repository.TrainerRepository;
+import com.fitplanhub.util.BoundedCache;
+import com.fitplanhub.util.TransactionUtil;
+import com.fitplanhub.util.VersionStripes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// caches the first page of each user's feed; entries are evicted precisely
+// when that user's follows change or when a followed (fan-out) trainer's plans change;
+// pull-mode trainers have too many followers to evict one by one, so their changes are
+// stamped instead and a cached page is dropped on read if a pull-mode trainer it covers
+// changed after the page was built
+@Service
+public class FeedCacheService {
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Value("${feed.cache.max-users:10000}")
+    private int maxUsers;
+
+    @Value("${feed.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private BoundedCache<Long, CachedFirstPage> cache;
+    private final VersionStripes versions = new VersionStripes(64);
+
+    // sequence of pull-mode trainer changes, and the last change of each such trainer
+    private final AtomicLong pullModeChanges = new AtomicLong();
+    private final Map<Long, Long> pullModeChangedAt = new ConcurrentHashMap<>();
+
+    // first page plus the page size it was built for, and the pull-mode trainers it covers
+    private static final class CachedFirstPage {
+        private final int size;
+        private final CursorPage<FitnessPlanResponse> page;
+        private final List<Long> pullModeTrainerIds;
+        private final long builtAfter;
+
+        private CachedFirstPage(int size, CursorPage<FitnessPlanResponse> page,
+                                List<Long> pullModeTrainerIds, long builtAfter) {
+            this.size = size;
+            this.page = page;
+            this.pullModeTrainerIds = pullModeTrainerIds;
+            this.builtAfter = builtAfter;
+        }
+    }
+
+    // read before building a first page, and passed back to putFirstPage
+    public static final class Version {
+        private final long user;
+        private final long pullModeChanges;
+
+        private Version(long user, long pullModeChanges) {
+            this.user = user;
+            this.pullModeChanges = pullModeChanges;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        cache = new BoundedCache<>(maxUsers, ttlSeconds * 1000);
+    }
+
+    // cached first page for this page size, or null
+    public CursorPage<FitnessPlanResponse> getFirstPage(Long userId, int size) {
+        CachedFirstPage cached = cache.get(userId);
+        if (cached == null || cached.size != size) {
+            return null;
+        }
+        for (Long trainerId : cached.pullModeTrainerIds) {
+            Long changedAt = pullModeChangedAt.get(trainerId);
+            if (changedAt != null && changedAt > cached.builtAfter) {
+                cache.invalidate(userId);
+                return null;
+            }
+        }
+        return cached.page;
+    }
+
+    public Version version(Long userId) {
+        return new Version(versions.current(userId), pullModeChanges.get());
+    }
+
+    // cache a freshly built first page, unless the user's feed was evicted while it was
+    // being built (the page may then predate the change and would stay for the full TTL);
+    // a pull-mode trainer change during the build is caught on read, as it is stamped
+    // after the version was taken
+    public void putFirstPage(Long userId, int size, CursorPage<FitnessPlanResponse> page, Version version) {
+        if (versions.unchanged(userId, version.user)) {
+            List<Long> pullModeTrainerIds = followRepository.findFollowedPullModeTrainerIds(userId);
+            cache.put(userId, new CachedFirstPage(size, page, pullModeTrainerIds, version.pullModeChanges));
+        }
+    }
+
+    // follow/unfollow: only this user's feed changed
+    public void evictUser(Long userId) {
+        TransactionUtil.afterCommit(() -> {
+            versions.bump(userId);
+            cache.invalidate(userId);
+        });
+    }
+
+    // plan created/updated/deleted: only the trainer's followers are affected
+    // pull-mode trainers have too many followers to evict one by one on every publish
+    // (the same reason fan-out is skipped for them); the change is stamped instead
+    public void evictFollowersOf(Long trainerId) {
+        if (Boolean.TRUE.equals(trainerRepository.findFeedPullModeById(trainerId))) {
+            TransactionUtil.afterCommit(() ->
+                pullModeChangedAt.put(trainerId, pullModeChanges.incrementAndGet()));
+            return;
+        }
+        List<Long> followerIds = followRepository.findFollowerIdsByTrainerId(trainerId);
+        TransactionUtil.afterCommit(() -> {
+            for (Long followerId : followerIds) {
+                versions.bump(followerId);
+            }
+            cache.invalidateAll(followerIds);
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,159 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.entity.FitnessPlan;
+import com.fitplanhub.entity.TimelineEntry;
+import com.fitplanhub.repository.FitnessPlanRepository;
+import com.fitplanhub.repository.FollowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+// lazily merges newest-first plan streams (the user's timeline + one per pull-mode trainer)
+// with a priority queue; each stream is read in small, growing keyset batches
+// so only as many rows are loaded as the caller actually consumes
+@Component
+public class FeedMergeEngine {
+
+    private static final int INITIAL_BATCH = 4;
+    private static final int MAX_BATCH = 100;
+
+    static final Comparator<FitnessPlan> NEWEST_FIRST =
+        Comparator.comparing(FitnessPlan::getCreatedAt).thenComparing(FitnessPlan::getId).reversed();
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private FitnessPlanRepository fitnessPlanRepository;
+
+    // a sorted source that can be read in keyset batches
+    interface PlanSource {
+        List<FitnessPlan> fetch(LocalDateTime afterCreatedAt, Long afterId, int limit);
+    }
+
+    // open a lazy newest-first iterator over the user's feed, starting after the given position
+    public Iterator<FitnessPlan> open(Long userId, LocalDateTime cursorCreatedAt, Long cursorId) {
+        List<PlanSource> sources = new ArrayList<>();
+        sources.add((createdAt, id, limit) -> timelineService.getTimelinePage(userId, createdAt, id, limit)
+            .stream()
+            .map(TimelineEntry::getPlan)
+            .collect(Collectors.toList()));
+        for (Long trainerId : followRepository.findFollowedPullModeTrainerIds(userId)) {
+            sources.add((createdAt, id, limit) ->
+                fitnessPlanRepository.findTrainerPlansPage(trainerId, createdAt, id, PageRequest.of(0, limit)));
+        }
+        return merge(sources, cursorCreatedAt, cursorId);
+    }
+
+    // lazy newest-first merge of already sorted sources, starting after the given position
+    static Iterator<FitnessPlan> merge(List<PlanSource> sources, LocalDateTime cursorCreatedAt, Long cursorId) {
+        return new MergingIterator(sources, cursorCreatedAt, cursorId);
+    }
+
+    // per-source read position and buffer
+    private static final class SourceCursor {
+        private final PlanSource source;
+        private final Deque<FitnessPlan> buffer = new ArrayDeque<>();
+        private LocalDateTime lastCreatedAt;
+        private Long lastId;
+        private int batchSize = INITIAL_BATCH;
+        private boolean exhausted;
+
+        SourceCursor(PlanSource source, LocalDateTime startCreatedAt, Long startId) {
+            this.source = source;
+            this.lastCreatedAt = startCreatedAt;
+            this.lastId = startId;
+        }
+
+        // make sure the buffer has a head element unless the source is drained
+        boolean fill() {
+            if (buffer.isEmpty() && !exhausted) {
+                List<FitnessPlan> batch = source.fetch(lastCreatedAt, lastId, batchSize);
+                if (batch.size() < batchSize) {
+                    exhausted = true;
+                }
+                if (!batch.isEmpty()) {
+                    FitnessPlan last = batch.get(batch.size() - 1);
+                    lastCreatedAt = last.getCreatedAt();
+                    lastId = last.getId();
+                    buffer.addAll(batch);
+                }
+                batchSize = Math.min(batchSize * 2, MAX_BATCH);
+            }
+            return !buffer.isEmpty();
+        }
+
+        FitnessPlan peek() {
+            return buffer.peekFirst();
+        }
+
+        FitnessPlan poll() {
+            return buffer.pollFirst();
+        }
+    }
+
+    private static final class MergingIterator implements Iterator<FitnessPlan> {
+        private final PriorityQueue<SourceCursor> heap =
+            new PriorityQueue<>((a, b) -> NEWEST_FIRST.compare(a.peek(), b.peek()));
+        private SourceCursor pending; // last polled source, refilled lazily on the next call
+        private Long lastEmittedId;
+        private FitnessPlan next;
+
+        MergingIterator(List<PlanSource> sources, LocalDateTime startCreatedAt, Long startId) {
+            for (PlanSource source : sources) {
+                SourceCursor cursor = new SourceCursor(source, startCreatedAt, startId);
+                if (cursor.fill()) {
+                    heap.add(cursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (pending != null) {
+                    if (pending.fill()) {
+                        heap.add(pending);
+                    }
+                    pending = null;
+                }
+                SourceCursor top = heap.poll();
+                if (top == null) {
+                    return false;
+                }
+                FitnessPlan candidate = top.poll();
+                pending = top;
+                // the same plan can come from the timeline and a pull-mode trainer; equal keys are adjacent
+                if (!candidate.getId().equals(lastEmittedId)) {
+                    next = candidate;
+                    lastEmittedId = candidate.getId();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public FitnessPlan next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            FitnessPlan result = next;
+            next = null;
+            return result;
+        }
+    }
+}
@@ -2,15 +2,18 @@ package com.fitplanhub.service;
 
 import com.fitplanhub.entity.Follow;
 import com.fitplanhub.entity.Trainer;
-import com.fitplanhub.entity.User;
 import com.fitplanhub.repository.FollowRepository;
 import com.fitplanhub.repository.TrainerRepository;
 import com.fitplanhub.repository.UserRepository;
+import com.fitplanhub.util.ConstraintUtil;
+import com.fitplanhub.util.LongHashSet;
+import com.fitplanhub.util.TransactionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 // manages follow/unfollow between users and trainers
 @Service
@@ -25,40 +28,74 @@ public class FollowService {
     @Autowired
     private TrainerRepository trainerRepository;
 
-    // follow a trainer
-    public void followTrainer(Long userId, Long trainerId) {
-        // already following?
-        if (followRepository.existsByUserIdAndTrainerId(userId, trainerId)) {
-            throw new RuntimeException("You are already following this trainer");
-        }
+    @Autowired
+    private TimelineService timelineService;
 
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
+    @Autowired
+    private FeedCacheService feedCacheService;
+
+    @Autowired
+    private FollowerCounterService followerCounterService;
+
+    @Autowired
+    private TrainerLeaderboardService leaderboardService;
+
+    // follow a trainer and backfill their plans into the user's timeline
+    // the trainer row is needed anyway for the fan-out decision; the user is only referenced
+    // and the (user_id, trainer_id) unique key catches duplicates, including concurrent ones
+    @Transactional
+    public void followTrainer(Long userId, Long trainerId) {
         Trainer trainer = trainerRepository.findById(trainerId)
             .orElseThrow(() -> new RuntimeException("Trainer not found"));
 
         Follow follow = new Follow();
-        follow.setUser(user);
+        follow.setUser(userRepository.getReferenceById(userId));
         follow.setTrainer(trainer);
         
-        followRepository.save(follow);
+        try {
+            followRepository.saveAndFlush(follow);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintUtil.isViolation(e, Follow.UK_USER_TRAINER)) {
+                throw new RuntimeException("You are already following this trainer");
+            }
+            if (ConstraintUtil.isForeignKeyViolation(e)) {
+                // the trainer was just loaded, so the missing reference is the user
+                throw new RuntimeException("User not found");
+            }
+            throw e;
+        }
+        TransactionUtil.afterCommit(() -> {
+            followerCounterService.increment(trainerId);
+            leaderboardService.adjust(TrainerLeaderboardService.Board.FOLLOWERS, trainerId, 1);
+        });
+        long followerCount = followerCounterService.currentCount(trainerId, trainer.getFollowerCount()) + 1;
+        timelineService.onFollow(userId, trainer, followerCount);
+        feedCacheService.evictUser(userId);
     }
 
-    // unfollow a trainer
+    // unfollow a trainer and prune their plans from the user's timeline
+    @Transactional
     public void unfollowTrainer(Long userId, Long trainerId) {
         Follow follow = followRepository.findByUserIdAndTrainerId(userId, trainerId)
             .orElseThrow(() -> new RuntimeException("You are not following this trainer"));
 
         followRepository.delete(follow);
+        TransactionUtil.afterCommit(() -> {
+            followerCounterService.decrement(trainerId);
+            leaderboardService.adjust(TrainerLeaderboardService.Board.FOLLOWERS, trainerId, -1);
+        });
+        timelineService.onUnfollow(userId, trainerId);
+        feedCacheService.evictUser(userId);
     }
 
     // get IDs of trainers this user follows
     public List<Long> getFollowedTrainerIds(Long userId) {
-        List<Follow> follows = followRepository.findByUserId(userId);
-        return follows.stream()
-            .map(f -> f.getTrainer().getId())
-            .collect(Collectors.toList());
+        return followRepository.findFollowedTrainerIds(userId);
+    }
+
+    // same IDs as a primitive set, for joining follow status in memory with one query
+    public LongHashSet getFollowedTrainerIdSet(Long userId) {
+        return LongHashSet.of(followRepository.findFollowedTrainerIds(userId));
     }
 
     // check if user follows a specific trainer
@@ -0,0 +1,147 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.repository.TrainerRepository;
+import jakarta.annotation.PreDestroy;
+import com.fitplanhub.dto.TrainerCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// materialized follower counters: follow/unfollow only bump an in-memory LongAdder per trainer
+// (no row lock on trainers), a scheduled flush applies the accumulated deltas in batched UPDATEs,
+// and a nightly reconciliation recomputes the column from the follows table to correct drift
+@Service
+public class FollowerCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(FollowerCounterService.class);
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void increment(Long trainerId) {
+        pending.computeIfAbsent(trainerId, id -> new LongAdder()).increment();
+    }
+
+    public void decrement(Long trainerId) {
+        pending.computeIfAbsent(trainerId, id -> new LongAdder()).decrement();
+    }
+
+    // persisted column value plus deltas not flushed yet
+    public long currentCount(Long trainerId, long persistedCount) {
+        LongAdder adder = pending.get(trainerId);
+        return adder == null ? persistedCount : persistedCount + adder.sum();
+    }
+
+    // persisted counters plus deltas not flushed yet, for every trainer with a positive total;
+    // read under the flush lock, so each flushed delta is in the persisted values exactly once
+    public synchronized List<TrainerCount> countsWithPending(Supplier<List<TrainerCount>> persisted) {
+        Map<Long, Long> totals = new HashMap<>();
+        for (TrainerCount count : persisted.get()) {
+            totals.put(count.getTrainerId(), count.getCount());
+        }
+        pending.forEach((trainerId, adder) -> totals.merge(trainerId, adder.sum(), Long::sum));
+
+        List<TrainerCount> counts = new ArrayList<>(totals.size());
+        totals.forEach((trainerId, total) -> {
+            if (total > 0) {
+                counts.add(new TrainerCount(trainerId, total));
+            }
+        });
+        return counts;
+    }
+
+    // apply pending deltas; trainers sharing the same delta are updated with one statement
+    @Scheduled(fixedDelayString = "${trainer.follower-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, List<Long>> idsByDelta = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                idsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        idsByDelta.forEach((delta, ids) -> {
+            for (int from = 0; from < ids.size(); from += FLUSH_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + FLUSH_BATCH_SIZE, ids.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                        trainerRepository.adjustFollowerCounts(batch, delta));
+                } catch (RuntimeException e) {
+                    // keep the deltas for the next flush
+                    log.warn("Follower count flush failed, retrying later: {}", e.getMessage());
+                    batch.forEach(id -> pending.computeIfAbsent(id, k -> new LongAdder()).add(delta));
+                }
+            }
+        });
+    }
+
+    // recompute every counter from the follows table, one ID range per transaction
+    // deltas still pending for a range are dropped in the same step as its recount, since
+    // the recount already includes those follows; flushing them afterwards would count them twice
+    @Scheduled(cron = "${trainer.follower-count.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        flush();
+        Long maxId = trainerRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        int corrected = 0;
+        for (long from = 1; from <= maxId; from += RECONCILE_BATCH_SIZE) {
+            long to = from + RECONCILE_BATCH_SIZE - 1;
+            long rangeStart = from;
+            Map<Long, Long> discarded = new HashMap<>();
+            try {
+                Integer updated = transactionTemplate.execute(status -> {
+                    discarded.putAll(takePending(rangeStart, to));
+                    return trainerRepository.recountFollowers(rangeStart, to);
+                });
+                corrected += updated == null ? 0 : updated;
+            } catch (RuntimeException e) {
+                // the counters were not recomputed, so the deltas still apply
+                log.warn("Follower count reconciliation failed for trainers {}-{}: {}", rangeStart, to, e.getMessage());
+                discarded.forEach((id, delta) -> pending.computeIfAbsent(id, k -> new LongAdder()).add(delta));
+            }
+        }
+        log.info("Follower counts reconciled for {} trainers", corrected);
+    }
+
+    // reset and return the pending deltas of trainers in an ID range
+    private Map<Long, Long> takePending(long fromId, long toId) {
+        Map<Long, Long> taken = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            Long trainerId = entry.getKey();
+            if (trainerId >= fromId && trainerId <= toId) {
+                long delta = entry.getValue().sumThenReset();
+                if (delta != 0) {
+                    taken.put(trainerId, delta);
+                }
+            }
+        }
+        return taken;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
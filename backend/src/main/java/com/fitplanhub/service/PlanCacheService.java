@@ -0,0 +1,147 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.FitnessPlanPreview;
+import com.fitplanhub.dto.FitnessPlanResponse;
+import com.fitplanhub.repository.FitnessPlanRepository;
+import com.fitplanhub.util.BoundedCache;
+import com.fitplanhub.util.TransactionUtil;
+import com.fitplanhub.util.VersionStripes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// read-through cache of plan details; holds the full response and the preview already
+// built, so a hot plan page needs no database round trip at all
+@Service
+public class PlanCacheService {
+
+    @Autowired
+    private FitnessPlanRepository fitnessPlanRepository;
+
+    @Value("${plan.cache.max-entries:5000}")
+    private int maxEntries;
+
+    @Value("${plan.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    private BoundedCache<Long, CachedPlan> cache;
+    // a load only populates the cache if its plan's stripe was not invalidated meanwhile
+    private final VersionStripes versions = new VersionStripes(64);
+
+    /**
+     * Both response forms of a plan plus the owner ID used for access checks
+     */
+    public static final class CachedPlan {
+        private final Long trainerId;
+        private final FitnessPlanResponse full;
+        private final FitnessPlanPreview preview;
+
+        private CachedPlan(Long trainerId, FitnessPlanResponse full, FitnessPlanPreview preview) {
+            this.trainerId = trainerId;
+            this.full = full;
+            this.preview = preview;
+        }
+
+        public Long getTrainerId() {
+            return trainerId;
+        }
+
+        public FitnessPlanResponse getFull() {
+            return full;
+        }
+
+        public FitnessPlanPreview getPreview() {
+            return preview;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        cache = new BoundedCache<>(maxEntries, ttlSeconds * 1000);
+    }
+
+    // cached plan, loading it with a single projection query on a miss
+    public CachedPlan getPlan(Long planId) {
+        CachedPlan cached = cache.get(planId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = versions.current(planId);
+        FitnessPlanResponse plan = fitnessPlanRepository.findResponseById(planId)
+            .orElseThrow(() -> new RuntimeException("Plan not found"));
+        CachedPlan loaded = build(plan);
+        if (versions.unchanged(planId, version)) {
+            cache.put(planId, loaded);
+        }
+        return loaded;
+    }
+
+    // cached plans by ID; all misses are loaded with a single IN query, unknown IDs are absent
+    public Map<Long, CachedPlan> getPlans(Collection<Long> planIds) {
+        Map<Long, CachedPlan> plans = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long planId : planIds) {
+            CachedPlan cached = cache.get(planId);
+            if (cached != null) {
+                plans.put(planId, cached);
+            } else {
+                missing.add(planId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return plans;
+        }
+
+        long[] stripeVersions = new long[missing.size()];
+        for (int i = 0; i < missing.size(); i++) {
+            stripeVersions[i] = versions.current(missing.get(i));
+        }
+        Map<Long, CachedPlan> loaded = new HashMap<>();
+        for (FitnessPlanResponse plan : fitnessPlanRepository.findResponsesByIdIn(missing)) {
+            loaded.put(plan.getId(), build(plan));
+        }
+        for (int i = 0; i < missing.size(); i++) {
+            Long planId = missing.get(i);
+            CachedPlan plan = loaded.get(planId);
+            if (plan != null) {
+                plans.put(planId, plan);
+                if (versions.unchanged(planId, stripeVersions[i])) {
+                    cache.put(planId, plan);
+                }
+            }
+        }
+        return plans;
+    }
+
+    // plan updated or deleted: drop the entry once the change is visible to new loads
+    public void invalidate(Long planId) {
+        TransactionUtil.afterCommit(() -> {
+            versions.bump(planId);
+            cache.invalidate(planId);
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        return cache.stats();
+    }
+
+    // the preview is a subset of the full response, so one projection row builds both
+    private static CachedPlan build(FitnessPlanResponse full) {
+        FitnessPlanPreview preview = new FitnessPlanPreview(
+            full.getId(),
+            full.getTitle(),
+            full.getPrice(),
+            full.getTrainerId(),
+            full.getTrainerName()
+        );
+        return new CachedPlan(full.getTrainerId(), full, preview);
+    }
+}
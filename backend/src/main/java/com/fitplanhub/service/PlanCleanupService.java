@@ -0,0 +1,148 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.ExpiringSubscription;
+import com.fitplanhub.repository.FitnessPlanRepository;
+import com.fitplanhub.repository.SubscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// purges soft-deleted plans in the background: subscriptions and timeline rows are deleted
+// in bounded batches, each in its own short transaction, and the plan row goes last;
+// each deleted unexpired subscription is recorded in the ledger in its batch's transaction,
+// so the subscriber counts projected from it drop with the deletes (expired ones already did);
+// all progress lives in the database (deleted_at and the remaining rows), so a crash
+// simply leaves work that the next run picks up
+@Service
+public class PlanCleanupService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanCleanupService.class);
+
+    // plans handled per run; the rest wait for the next run
+    private static final int PLANS_PER_RUN = 20;
+
+    @Autowired
+    private FitnessPlanRepository fitnessPlanRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private SubscriptionLedger ledger;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${plan.cleanup.batch-size:1000}")
+    private int batchSize;
+
+    private final LongAdder plansPurged = new LongAdder();
+    private final LongAdder subscriptionsDeleted = new LongAdder();
+    private final LongAdder timelineEntriesDeleted = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+
+    @Scheduled(fixedDelayString = "${plan.cleanup.interval-ms:30000}")
+    public void run() {
+        long start = System.currentTimeMillis();
+        List<Long> planIds = fitnessPlanRepository.findSoftDeletedPlanIds(PLANS_PER_RUN);
+        for (Long planId : planIds) {
+            try {
+                purge(planId);
+            } catch (RuntimeException e) {
+                // left in place (still soft-deleted), retried on the next run
+                failures.increment();
+                log.warn("Cleanup of deleted plan {} failed", planId, e);
+            }
+        }
+        lastRunAt = LocalDateTime.now();
+        lastRunMillis = System.currentTimeMillis() - start;
+        if (!planIds.isEmpty()) {
+            log.info("Plan cleanup processed {} deleted plans in {} ms", planIds.size(), lastRunMillis);
+        }
+    }
+
+    private void purge(Long planId) {
+        int deleted;
+        int found;
+        do {
+            int[] counts = transactionTemplate.execute(status -> deleteSubscriptionBatch(planId));
+            found = counts[0];
+            deleted = counts[1];
+            subscriptionsDeleted.add(deleted);
+        } while (found == batchSize);
+
+        do {
+            deleted = transactionTemplate.execute(status ->
+                subscriptionRepository.deleteExpiredBatchByPlanId(planId, batchSize));
+            subscriptionsDeleted.add(deleted);
+        } while (deleted == batchSize);
+
+        do {
+            deleted = timelineService.deletePlanEntries(planId, batchSize);
+            timelineEntriesDeleted.add(deleted);
+        } while (deleted == batchSize);
+
+        Integer purged = transactionTemplate.execute(status -> fitnessPlanRepository.purgeSoftDeleted(planId));
+        if (purged != null && purged > 0) {
+            plansPurged.increment();
+        }
+    }
+
+    // one batch of the plan's unexpired subscriptions; rows the expiry job marked meanwhile are
+    // skipped so they are not recorded twice (the expired pass deletes them); returns {rows found, rows deleted}
+    private int[] deleteSubscriptionBatch(Long planId) {
+        List<ExpiringSubscription> batch = subscriptionRepository.findBatchByPlanId(planId, batchSize);
+        if (batch.isEmpty()) {
+            return new int[] {0, 0};
+        }
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (ExpiringSubscription subscription : batch) {
+            ids.add(subscription.getSubscriptionId());
+        }
+        Set<Long> locked = new HashSet<>(subscriptionRepository.lockUnexpired(ids));
+        List<ExpiringSubscription> removed = new ArrayList<>(locked.size());
+        for (ExpiringSubscription subscription : batch) {
+            if (locked.contains(subscription.getSubscriptionId())) {
+                removed.add(subscription);
+            }
+        }
+        if (!removed.isEmpty()) {
+            subscriptionRepository.deleteAllByIdInBatch(locked);
+            ledger.recordCancelled(removed);
+        }
+        return new int[] {batch.size(), removed.size()};
+    }
+
+    /**
+     * Progress counters since startup plus the current backlog
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pendingPlans", fitnessPlanRepository.countSoftDeleted());
+        stats.put("plansPurged", plansPurged.sum());
+        stats.put("subscriptionsDeleted", subscriptionsDeleted.sum());
+        stats.put("timelineEntriesDeleted", timelineEntriesDeleted.sum());
+        stats.put("failures", failures.sum());
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunMillis", lastRunMillis);
+        return stats;
+    }
+}
@@ -1,13 +1,13 @@
 package com.fitplanhub.service;
 
-import com.fitplanhub.dto.FitnessPlanPreview;
-import com.fitplanhub.dto.FitnessPlanResponse;
-import com.fitplanhub.entity.FitnessPlan;
-import com.fitplanhub.repository.FitnessPlanRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service for plan details with access control
@@ -16,61 +16,54 @@ import java.time.format.DateTimeFormatter;
 public class PlanDetailsService {
 
     @Autowired
-    private FitnessPlanRepository fitnessPlanRepository;
+    private PlanCacheService planCacheService;
 
     @Autowired
     private SubscriptionService subscriptionService;
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
     /**
      * Get plan details with access control
      * Returns full details if subscribed, preview otherwise
+     * Both forms come prebuilt from the plan cache
      */
     public Object getPlanDetails(Long planId, Long userId, String userRole) {
-        FitnessPlan plan = fitnessPlanRepository.findById(planId)
-            .orElseThrow(() -> new RuntimeException("Plan not found"));
+        PlanCacheService.CachedPlan plan = planCacheService.getPlan(planId);
 
         // If user is TRAINER and owns the plan, return full details
-        if ("TRAINER".equals(userRole) && plan.getTrainer().getId().equals(userId)) {
-            return mapToFullResponse(plan);
+        if ("TRAINER".equals(userRole) && plan.getTrainerId().equals(userId)) {
+            return plan.getFull();
         }
 
         // If user is USER and subscribed, return full details
         if ("USER".equals(userRole) && subscriptionService.isSubscribed(userId, planId)) {
-            return mapToFullResponse(plan);
+            return plan.getFull();
         }
 
         // Otherwise, return preview only
-        return mapToPreview(plan);
+        return plan.getPreview();
     }
 
     /**
-     * Map to full response (for subscribers and plan owners)
+     * Get details of several plans at once, in request order
+     * Same access rules as getPlanDetails, resolved with one plan query
+     * and one subscription lookup; unknown IDs are skipped
      */
-    private FitnessPlanResponse mapToFullResponse(FitnessPlan plan) {
-        return new FitnessPlanResponse(
-            plan.getId(),
-            plan.getTitle(),
-            plan.getDescription(),
-            plan.getPrice(),
-            plan.getDuration(),
-            plan.getTrainer().getId(),
-            plan.getTrainer().getFullName(),
-            plan.getCreatedAt().format(DATE_FORMATTER)
-        );
-    }
+    public List<Object> getPlanDetailsBatch(List<Long> planIds, Long userId, String userRole) {
+        Map<Long, PlanCacheService.CachedPlan> plans = planCacheService.getPlans(planIds);
 
-    /**
-     * Map to preview (for non-subscribers)
-     */
-    private FitnessPlanPreview mapToPreview(FitnessPlan plan) {
-        return new FitnessPlanPreview(
-            plan.getId(),
-            plan.getTitle(),
-            plan.getPrice(),
-            plan.getTrainer().getId(),
-            plan.getTrainer().getFullName()
-        );
+        Set<Long> subscribed = "USER".equals(userRole) && !plans.isEmpty()
+            ? subscriptionService.filterSubscribed(userId, plans.keySet())
+            : Collections.emptySet();
+
+        List<Object> result = new ArrayList<>(plans.size());
+        for (Long planId : planIds) {
+            PlanCacheService.CachedPlan plan = plans.get(planId);
+            if (plan == null) {
+                continue;
+            }
+            boolean owner = "TRAINER".equals(userRole) && plan.getTrainerId().equals(userId);
+            result.add(owner || subscribed.contains(planId) ? plan.getFull() : plan.getPreview());
+        }
+        return result;
     }
 }
@@ -0,0 +1,188 @@
+package com.fitplanhub.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitplanhub.dto.FitnessPlanRequest;
+import com.fitplanhub.dto.PlanImportResult;
+import com.fitplanhub.entity.FitnessPlan;
+import com.fitplanhub.entity.Trainer;
+import com.fitplanhub.repository.TrainerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// bulk plan import: the JSON array is parsed one element at a time, each row is validated
+// on its own, and valid rows are persisted in chunks so Hibernate can batch the inserts
+// (fitness plan IDs come from a pooled sequence, which IDENTITY would not allow)
+@Service
+public class PlanImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanImportService.class);
+
+    public static final int MAX_ROWS = 5000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private FeedCacheService feedCacheService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    // one chunk is flushed as one JDBC batch
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int chunkSize;
+
+    // a valid row waiting to be persisted, with its position in the request
+    private static final class PendingRow {
+        private final int row;
+        private final FitnessPlanRequest request;
+
+        private PendingRow(int row, FitnessPlanRequest request) {
+            this.row = row;
+            this.request = request;
+        }
+    }
+
+    public PlanImportResult importPlans(Long trainerId, InputStream body) throws IOException {
+        Trainer trainer = trainerRepository.findById(trainerId)
+            .orElseThrow(() -> new RuntimeException("Trainer not found"));
+        boolean fanOut = !trainer.isFeedPullMode();
+
+        PlanImportResult result = new PlanImportResult();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Expected a JSON array of plans");
+            }
+            int row = 0;
+            try {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (row == MAX_ROWS) {
+                        result.addError(row, "Import limit of " + MAX_ROWS + " plans reached, remaining rows were ignored");
+                        break;
+                    }
+                    // read the element as a tree so a bad row cannot desynchronize the parser
+                    JsonNode node = objectMapper.readTree(parser);
+                    result.setReceived(++row);
+
+                    FitnessPlanRequest request = toRequest(node, row - 1, result);
+                    if (request != null) {
+                        chunk.add(new PendingRow(row - 1, request));
+                    }
+                    if (chunk.size() == chunkSize) {
+                        persistChunk(trainerId, fanOut, chunk, result);
+                        chunk.clear();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                result.addError(row, "Malformed JSON, remaining rows were ignored");
+            }
+        } finally {
+            if (!chunk.isEmpty()) {
+                persistChunk(trainerId, fanOut, chunk, result);
+            }
+            if (result.getImported() > 0) {
+                feedCacheService.evictFollowersOf(trainerId);
+            }
+        }
+        return result;
+    }
+
+    // convert and validate one element; records the error and returns null if the row is invalid
+    private FitnessPlanRequest toRequest(JsonNode node, int row, PlanImportResult result) {
+        FitnessPlanRequest request;
+        try {
+            request = objectMapper.treeToValue(node, FitnessPlanRequest.class);
+        } catch (JsonProcessingException e) {
+            result.addError(row, "Invalid plan format");
+            return null;
+        }
+
+        Set<ConstraintViolation<FitnessPlanRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            result.addError(row, violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", ")));
+            return null;
+        }
+        return request;
+    }
+
+    // persist a chunk in one transaction; if the batch fails, retry its rows one by one
+    // so a single bad row only costs itself
+    private void persistChunk(Long trainerId, boolean fanOut, List<PendingRow> chunk, PlanImportResult result) {
+        try {
+            insert(trainerId, fanOut, chunk);
+            result.setImported(result.getImported() + chunk.size());
+        } catch (RuntimeException e) {
+            log.warn("Batch insert of {} plans for trainer {} failed, retrying row by row", chunk.size(), trainerId, e);
+            for (PendingRow pending : chunk) {
+                try {
+                    insert(trainerId, fanOut, List.of(pending));
+                    result.setImported(result.getImported() + 1);
+                } catch (RuntimeException rowError) {
+                    result.addError(pending.row, "Could not save plan");
+                }
+            }
+        }
+    }
+
+    private void insert(Long trainerId, boolean fanOut, List<PendingRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Trainer trainer = entityManager.getReference(Trainer.class, trainerId);
+            List<Long> planIds = new ArrayList<>(rows.size());
+            List<FitnessPlan> plans = new ArrayList<>(rows.size());
+            for (PendingRow pending : rows) {
+                FitnessPlan plan = new FitnessPlan();
+                plan.setTitle(pending.request.getTitle());
+                plan.setDescription(pending.request.getDescription());
+                plan.setPrice(pending.request.getPrice());
+                plan.setDuration(pending.request.getDuration());
+                plan.setTrainer(trainer);
+                entityManager.persist(plan);
+                plans.add(plan);
+            }
+            entityManager.flush();
+            for (FitnessPlan plan : plans) {
+                planIds.add(plan.getId());
+            }
+            if (fanOut) {
+                timelineService.onPlansImported(trainerId, planIds);
+            }
+            entityManager.clear();
+        });
+    }
+}
@@ -0,0 +1,182 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.SubscribedPlan;
+import com.fitplanhub.repository.SubscriptionRepository;
+import com.fitplanhub.util.BoundedCache;
+import com.fitplanhub.util.LongLongHashMap;
+import com.fitplanhub.util.TransactionUtil;
+import com.fitplanhub.util.VersionStripes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.lang.ref.SoftReference;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// active subscriptions of recently active users, held as primitive planId -> expiry maps
+// so an access check (including expiry) is an in-memory lookup instead of a query;
+// maps sit behind soft references so the GC can drop them under memory pressure
+@Service
+public class SubscriptionAccessCache {
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Value("${subscription.cache.max-users:20000}")
+    private int maxUsers;
+
+    @Value("${subscription.cache.ttl-seconds:1800}")
+    private long ttlSeconds;
+
+    private BoundedCache<Long, SoftReference<LongLongHashMap>> cache;
+    // a load only populates the cache if no subscription change hit the user's stripe meanwhile
+    private final VersionStripes versions = new VersionStripes(64);
+    private final LongAdder collected = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        cache = new BoundedCache<>(maxUsers, ttlSeconds * 1000);
+    }
+
+    // subscribed and not expired; "never expires" is stored as Long.MAX_VALUE
+    public boolean isSubscribed(Long userId, Long planId) {
+        LongLongHashMap plans = plansOf(userId);
+        long now = System.currentTimeMillis();
+        synchronized (plans) {
+            return plans.get(planId, 0L) > now;
+        }
+    }
+
+    // the subset of planIds the user has an active subscription to, from a single map lookup
+    public Set<Long> filterSubscribed(Long userId, Collection<Long> planIds) {
+        LongLongHashMap plans = plansOf(userId);
+        long now = System.currentTimeMillis();
+        Set<Long> result = new HashSet<>();
+        synchronized (plans) {
+            for (Long planId : planIds) {
+                if (plans.get(planId, 0L) > now) {
+                    result.add(planId);
+                }
+            }
+        }
+        return result;
+    }
+
+    // IDs of all plans the user has an active subscription to
+    public List<Long> activePlanIds(Long userId) {
+        LongLongHashMap plans = plansOf(userId);
+        long now = System.currentTimeMillis();
+        List<Long> result = new ArrayList<>();
+        synchronized (plans) {
+            for (long planId : plans.keys()) {
+                if (plans.get(planId, 0L) > now) {
+                    result.add(planId);
+                }
+            }
+        }
+        return result;
+    }
+
+    // new subscription: update the cached map in place once it is committed
+    public void onSubscribed(Long userId, Long planId, LocalDateTime expiresAt) {
+        TransactionUtil.afterCommit(() -> {
+            versions.bump(userId);
+            LongLongHashMap plans = cached(userId);
+            if (plans != null) {
+                synchronized (plans) {
+                    plans.put(planId, toMillis(expiresAt));
+                }
+            }
+        });
+    }
+
+    // subscription expired and deleted: drop it from the cached map (reads already ignore it);
+    // an entry that is not expired belongs to a newer subscription and is kept
+    public void onExpired(Long userId, Long planId) {
+        TransactionUtil.afterCommit(() -> {
+            versions.bump(userId);
+            LongLongHashMap plans = cached(userId);
+            if (plans != null) {
+                synchronized (plans) {
+                    if (plans.get(planId, Long.MAX_VALUE) <= System.currentTimeMillis()) {
+                        plans.remove(planId);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Cache counters plus the memory held by the cached sets
+     */
+    public Map<String, Object> getStats() {
+        long users = 0;
+        long totalBytes = 0;
+        long maxBytes = 0;
+        for (SoftReference<LongLongHashMap> ref : cache.values()) {
+            LongLongHashMap plans = ref.get();
+            if (plans != null) {
+                long bytes;
+                synchronized (plans) {
+                    bytes = plans.estimatedBytes();
+                }
+                users++;
+                totalBytes += bytes;
+                maxBytes = Math.max(maxBytes, bytes);
+            }
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>(cache.stats());
+        stats.put("collectedByGc", collected.sum());
+        stats.put("liveUsers", users);
+        stats.put("totalBytes", totalBytes);
+        stats.put("avgBytesPerUser", users == 0 ? 0 : totalBytes / users);
+        stats.put("maxBytesPerUser", maxBytes);
+        return stats;
+    }
+
+    private LongLongHashMap plansOf(Long userId) {
+        LongLongHashMap plans = cached(userId);
+        if (plans != null) {
+            return plans;
+        }
+
+        long version = versions.current(userId);
+        List<SubscribedPlan> active = subscriptionRepository.findActivePlansByUserId(userId, LocalDateTime.now());
+        plans = new LongLongHashMap(active.size());
+        for (SubscribedPlan plan : active) {
+            plans.put(plan.getPlanId(), toMillis(plan.getExpiresAt()));
+        }
+        if (versions.unchanged(userId, version)) {
+            cache.put(userId, new SoftReference<>(plans));
+        }
+        return plans;
+    }
+
+    private LongLongHashMap cached(Long userId) {
+        SoftReference<LongLongHashMap> ref = cache.get(userId);
+        if (ref == null) {
+            return null;
+        }
+        LongLongHashMap plans = ref.get();
+        if (plans == null) {
+            collected.increment();
+            cache.invalidate(userId);
+        }
+        return plans;
+    }
+
+    private static long toMillis(LocalDateTime expiresAt) {
+        return expiresAt == null ? Long.MAX_VALUE : expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,120 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.ExpiringSubscription;
+import com.fitplanhub.repository.SubscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// marks subscriptions whose plan duration has run out as expired (the rows stay, so users
+// still see them); due rows are read off the (expired_at, expires_at) index in bounded
+// batches, each marked in its own short transaction. Access checks compare expiry in memory,
+// so this job only records the expiry and keeps caches and counts in step
+@Service
+public class SubscriptionExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionExpiryService.class);
+
+    // batches per run; whatever is left waits for the next run
+    private static final int MAX_BATCHES_PER_RUN = 50;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private SubscriptionAccessCache accessCache;
+
+    @Autowired
+    private TrainerLeaderboardService leaderboardService;
+
+    @Autowired
+    private SubscriptionLedger ledger;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${subscription.expiry.batch-size:500}")
+    private int batchSize;
+
+    private final LongAdder expired = new LongAdder();
+    private volatile LocalDateTime lastRunAt;
+
+    @Scheduled(fixedDelayString = "${subscription.expiry.interval-ms:60000}")
+    public void expireDue() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<ExpiringSubscription> due = subscriptionRepository.findExpired(now, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                break;
+            }
+            total += expire(due, now);
+            if (due.size() < batchSize) {
+                break;
+            }
+        }
+        lastRunAt = now;
+        if (total > 0) {
+            log.info("Expired {} subscriptions", total);
+        }
+    }
+
+    // the due rows are locked before they are marked; a row a concurrent re-subscribe already
+    // marked or replaced is skipped, so the ledger, cache and leaderboard only see rows this run expired
+    private int expire(List<ExpiringSubscription> due, LocalDateTime now) {
+        List<Long> ids = new ArrayList<>(due.size());
+        for (ExpiringSubscription subscription : due) {
+            ids.add(subscription.getSubscriptionId());
+        }
+
+        List<ExpiringSubscription> marked = transactionTemplate.execute(status -> {
+            Set<Long> locked = new HashSet<>(subscriptionRepository.lockExpired(ids, now));
+            List<ExpiringSubscription> expiring = new ArrayList<>(locked.size());
+            for (ExpiringSubscription subscription : due) {
+                if (locked.contains(subscription.getSubscriptionId())) {
+                    expiring.add(subscription);
+                }
+            }
+            if (!expiring.isEmpty()) {
+                subscriptionRepository.markExpired(locked, now);
+                ledger.recordExpired(expiring);
+            }
+            return expiring;
+        });
+        if (marked == null || marked.isEmpty()) {
+            return 0;
+        }
+
+        expired.add(marked.size());
+        Map<Long, Long> perTrainer = new HashMap<>();
+        for (ExpiringSubscription subscription : marked) {
+            accessCache.onExpired(subscription.getUserId(), subscription.getPlanId());
+            perTrainer.merge(subscription.getTrainerId(), 1L, Long::sum);
+        }
+        perTrainer.forEach((trainerId, count) ->
+            leaderboardService.adjust(TrainerLeaderboardService.Board.SUBSCRIBERS, trainerId, -count));
+        return marked.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("expired", expired.sum());
+        stats.put("lastRunAt", lastRunAt);
+        return stats;
+    }
+}
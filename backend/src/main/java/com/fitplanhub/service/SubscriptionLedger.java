@@ -0,0 +1,66 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.ExpiringSubscription;
+import com.fitplanhub.dto.FitnessPlanResponse;
+import com.fitplanhub.entity.SubscriptionEvent;
+import com.fitplanhub.repository.SubscriptionEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// appends subscription changes to the ledger (outbox style): every method joins the
+// caller's transaction, so an event commits exactly when the change it describes does;
+// read models are built from the ledger asynchronously by SubscriptionProjector
+@Service
+public class SubscriptionLedger {
+
+    @Autowired
+    private SubscriptionEventRepository eventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSubscribed(Long userId, Long planId, PlanCacheService.CachedPlan plan, LocalDateTime at) {
+        FitnessPlanResponse details = plan.getFull();
+        SubscriptionEvent event = new SubscriptionEvent();
+        event.setType(SubscriptionEvent.Type.SUBSCRIBED);
+        event.setUserId(userId);
+        event.setPlanId(planId);
+        event.setTrainerId(plan.getTrainerId());
+        event.setPlanTitle(details.getTitle());
+        event.setPrice(details.getPrice());
+        event.setOccurredAt(at);
+        eventRepository.save(event);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordExpired(Collection<ExpiringSubscription> subscriptions) {
+        recordRemoved(SubscriptionEvent.Type.EXPIRED, subscriptions);
+    }
+
+    // subscriptions deleted together with their (purged) plan
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCancelled(Collection<ExpiringSubscription> subscriptions) {
+        recordRemoved(SubscriptionEvent.Type.CANCELLED, subscriptions);
+    }
+
+    private void recordRemoved(SubscriptionEvent.Type type, Collection<ExpiringSubscription> subscriptions) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SubscriptionEvent> events = new ArrayList<>(subscriptions.size());
+        for (ExpiringSubscription subscription : subscriptions) {
+            SubscriptionEvent event = new SubscriptionEvent();
+            event.setType(type);
+            event.setUserId(subscription.getUserId());
+            event.setPlanId(subscription.getPlanId());
+            event.setTrainerId(subscription.getTrainerId());
+            event.setPlanTitle(subscription.getPlanTitle());
+            event.setOccurredAt(now);
+            events.add(event);
+        }
+        eventRepository.saveAll(events);
+    }
+}
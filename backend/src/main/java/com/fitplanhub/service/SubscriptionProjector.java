@@ -0,0 +1,170 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.entity.ProjectionOffset;
+import com.fitplanhub.repository.PlanSubscriberCountRepository;
+import com.fitplanhub.repository.ProjectionOffsetRepository;
+import com.fitplanhub.repository.SubscriptionEventRepository;
+import com.fitplanhub.repository.SubscriptionHistoryRepository;
+import com.fitplanhub.repository.TrainerRevenueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// builds the subscription read models (trainer revenue, plan subscriber counts, user history)
+// from the ledger: each batch of events is applied with set-based statements in one transaction,
+// and every applied event leaves a history row keyed by its ID, so an event is applied exactly
+// once even across crashes. The offset row is locked while applying, so several instances
+// never apply the same batch.
+// Ledger IDs are assigned at insert but become visible at commit, so a slow transaction can
+// commit a lower ID after a higher one. The offset is therefore a low watermark: every event
+// at or below it is applied, and unapplied events above it are found by ID, not by range.
+// It stops at the first missing ID until that gap is older than the gap timeout (rolled-back
+// inserts leave permanent gaps), so a late commit is still picked up while its gap is open
+@Service
+public class SubscriptionProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionProjector.class);
+
+    static final String NAME = "subscription-read-models";
+
+    // batches per run; whatever is left waits for the next run
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    // applied IDs read per batch when moving the watermark
+    private static final int WATERMARK_SCAN = 5000;
+
+    @Autowired
+    private SubscriptionEventRepository eventRepository;
+
+    @Autowired
+    private ProjectionOffsetRepository offsetRepository;
+
+    @Autowired
+    private TrainerRevenueRepository trainerRevenueRepository;
+
+    @Autowired
+    private PlanSubscriberCountRepository planSubscriberCountRepository;
+
+    @Autowired
+    private SubscriptionHistoryRepository historyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${subscription.projector.batch-size:500}")
+    private int batchSize;
+
+    // how long a missing ledger ID holds the watermark back; must exceed the longest
+    // transaction that writes ledger events, after that the insert is taken as rolled back
+    @Value("${subscription.projector.gap-timeout-ms:600000}")
+    private long gapTimeoutMs;
+
+    @Value("${subscription.projector.replay-on-startup:false}")
+    private boolean replayOnStartup;
+
+    private final LongAdder applied = new LongAdder();
+    private volatile long offset;
+    private volatile LocalDateTime lastRunAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (replayOnStartup) {
+            replay();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${subscription.projector.interval-ms:2000}")
+    public void project() {
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            Integer count = transactionTemplate.execute(status -> applyNextBatch());
+            if (count == null || count < batchSize) {
+                break;
+            }
+        }
+        lastRunAt = LocalDateTime.now();
+    }
+
+    // clear the read models and rewind to offset zero; the next runs rebuild them from the ledger
+    public void replay() {
+        transactionTemplate.executeWithoutResult(status -> {
+            ProjectionOffset current = lockOffset();
+            trainerRevenueRepository.deleteAllInBatch();
+            planSubscriberCountRepository.deleteAllInBatch();
+            historyRepository.deleteAllInBatch();
+            current.setLastEventId(0L);
+            current.setUpdatedAt(LocalDateTime.now());
+            offset = 0;
+        });
+        log.info("Subscription read models cleared, replaying ledger from offset 0");
+    }
+
+    private int applyNextBatch() {
+        ProjectionOffset current = lockOffset();
+        long from = current.getLastEventId();
+        List<Long> ids = eventRepository.findUnappliedIds(from, PageRequest.of(0, batchSize));
+        if (!ids.isEmpty()) {
+            trainerRevenueRepository.applyEvents(ids);
+            planSubscriberCountRepository.applyEvents(ids);
+            historyRepository.applyEvents(ids);
+            applied.add(ids.size());
+        }
+
+        // a full batch may have left visible events above its last ID unapplied
+        long upTo = ids.size() == batchSize ? ids.get(ids.size() - 1) : Long.MAX_VALUE;
+        long watermark = advanceWatermark(from, upTo);
+        if (watermark != from) {
+            current.setLastEventId(watermark);
+            current.setUpdatedAt(LocalDateTime.now());
+        }
+        offset = watermark;
+        return ids.size();
+    }
+
+    // move past applied IDs as long as they are consecutive; a missing ID is an insert still in
+    // flight (or rolled back) and stops the watermark until the event after it is old enough
+    private long advanceWatermark(long from, long upTo) {
+        LocalDateTime abandonedBefore = LocalDateTime.now().minus(gapTimeoutMs, ChronoUnit.MILLIS);
+        long watermark = from;
+        for (Long id : historyRepository.findAppliedIds(from, upTo, PageRequest.of(0, WATERMARK_SCAN))) {
+            if (id != watermark + 1) {
+                LocalDateTime recordedAt = historyRepository.findOccurredAt(id);
+                if (recordedAt == null || recordedAt.isAfter(abandonedBefore)) {
+                    break;
+                }
+                log.info("Ledger IDs {}-{} never appeared; skipping them", watermark + 1, id - 1);
+            }
+            watermark = id;
+        }
+        return watermark;
+    }
+
+    private ProjectionOffset lockOffset() {
+        return offsetRepository.findForUpdate(NAME).orElseGet(() ->
+            offsetRepository.saveAndFlush(new ProjectionOffset(NAME, 0L, LocalDateTime.now())));
+    }
+
+    public Map<String, Object> getStats() {
+        Long latest = eventRepository.findMaxId();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("offset", offset);
+        stats.put("latestEventId", latest);
+        stats.put("lag", latest == null ? 0 : Math.max(0, latest - offset));
+        stats.put("applied", applied.sum());
+        stats.put("lastRunAt", lastRunAt);
+        return stats;
+    }
+}
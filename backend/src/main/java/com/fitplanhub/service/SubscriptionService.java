@@ -1,21 +1,40 @@
 package com.fitplanhub.service;
 
-import com.fitplanhub.entity.FitnessPlan;
+import com.fitplanhub.dto.CursorPage;
+import com.fitplanhub.dto.ExpiringSubscription;
+import com.fitplanhub.dto.SubscriptionOutcome;
 import com.fitplanhub.entity.Subscription;
+import com.fitplanhub.entity.SubscriptionHistoryEntry;
 import com.fitplanhub.entity.User;
 import com.fitplanhub.repository.FitnessPlanRepository;
+import com.fitplanhub.repository.SubscriptionHistoryRepository;
 import com.fitplanhub.repository.SubscriptionRepository;
 import com.fitplanhub.repository.UserRepository;
+import com.fitplanhub.util.ConstraintUtil;
+import com.fitplanhub.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 // handles user subscriptions to fitness plans
 @Service
 public class SubscriptionService {
 
+    public static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     @Autowired
     private SubscriptionRepository subscriptionRepository;
 
@@ -25,40 +44,202 @@ public class SubscriptionService {
     @Autowired
     private FitnessPlanRepository fitnessPlanRepository;
 
+    @Autowired
+    private TrainerLeaderboardService leaderboardService;
+
+    @Autowired
+    private SubscriptionAccessCache accessCache;
+
+    @Autowired
+    private PlanCacheService planCacheService;
+
+    @Autowired
+    private SubscriptionLedger ledger;
+
+    @Autowired
+    private SubscriptionHistoryRepository historyRepository;
+
+    @Autowired
+    private TrainerAnalyticsService analyticsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     // subscribe to a plan (payment simulation)
+    // the plan comes from the plan cache and the user is only referenced, so the write is a
+    // single INSERT; the (user_id, plan_id) unique key catches concurrent duplicates
     public void subscribeToPlan(Long userId, Long planId) {
-        // already subscribed?
-        if (subscriptionRepository.existsByUserIdAndPlanId(userId, planId)) {
+        // already subscribed? (in-memory fast path)
+        if (accessCache.isSubscribed(userId, planId)) {
             throw new RuntimeException("You are already subscribed to this plan");
         }
 
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        FitnessPlan plan = fitnessPlanRepository.findById(planId)
-            .orElseThrow(() -> new RuntimeException("Plan not found"));
+        PlanCacheService.CachedPlan plan = planCacheService.getPlan(planId);
+        Subscription subscription;
+        try {
+            subscription = insertSubscription(userId, planId, plan);
+        } catch (DataIntegrityViolationException e) {
+            if (!ConstraintUtil.isViolation(e, Subscription.UK_USER_PLAN)) {
+                if (ConstraintUtil.isForeignKeyViolation(e)) {
+                    // the plan was just checked, so the remaining foreign key is the user
+                    throw new RuntimeException("User not found");
+                }
+                throw e;
+            }
+            // the existing row may have expired without the expiry job having marked it yet;
+            // it is marked here in that case, then the expired row is replaced by the new one;
+            // if nothing is removed, the insert is retried anyway and a second conflict means
+            // a live subscription
+            Integer removed = transactionTemplate.execute(status -> {
+                int count = subscriptionRepository.markExpired(userId, planId, LocalDateTime.now());
+                if (count > 0) {
+                    ledger.recordExpired(List.of(new ExpiringSubscription(null, userId, planId,
+                        plan.getTrainerId(), plan.getFull().getTitle())));
+                }
+                subscriptionRepository.deleteExpired(userId, planId);
+                return count;
+            });
+            if (removed != null && removed > 0) {
+                leaderboardService.adjust(TrainerLeaderboardService.Board.SUBSCRIBERS, plan.getTrainerId(), -removed);
+            }
+            try {
+                subscription = insertSubscription(userId, planId, plan);
+            } catch (DataIntegrityViolationException retryError) {
+                throw new RuntimeException("You are already subscribed to this plan");
+            }
+        }
+        accessCache.onSubscribed(userId, planId, subscription.getExpiresAt());
+        leaderboardService.adjust(TrainerLeaderboardService.Board.SUBSCRIBERS, plan.getTrainerId(), 1);
+    }
+
+    // the subscription row and its ledger event are written in one transaction
+    private Subscription insertSubscription(Long userId, Long planId, PlanCacheService.CachedPlan plan) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Subscription subscription = newSubscription(userRepository.getReferenceById(userId), planId, plan, now);
+            subscriptionRepository.saveAndFlush(subscription);
+            ledger.recordSubscribed(userId, planId, plan, now);
+            analyticsService.recordSubscribed(plan, now.toLocalDate(), 1);
+            return subscription;
+        });
+    }
 
+    // access lasts for the plan's duration (in days) from the time of purchase
+    private Subscription newSubscription(User user, Long planId, PlanCacheService.CachedPlan plan,
+                                         LocalDateTime now) {
+        Integer durationDays = plan.getFull().getDuration();
         Subscription subscription = new Subscription();
         subscription.setUser(user);
-        subscription.setPlan(plan);
-        
-        subscriptionRepository.save(subscription);
+        subscription.setPlan(fitnessPlanRepository.getReferenceById(planId));
+        subscription.setSubscribedAt(now);
+        subscription.setExpiresAt(durationDays == null ? null : now.plusDays(durationDays));
+        return subscription;
     }
 
-    // check subscription status
+    // subscribe to several plans in one transaction: plans are resolved with one IN query
+    // (through the plan cache), existing subscriptions with one set lookup, and the new rows
+    // go out as one JDBC batch; if the batch hits a concurrent duplicate, each plan is
+    // retried on its own so the outcomes stay exact
+    public List<SubscriptionOutcome> subscribeToPlans(Long userId, List<Long> planIds) {
+        List<Long> distinctIds = planIds.stream().distinct().collect(Collectors.toList());
+        Map<Long, PlanCacheService.CachedPlan> plans = planCacheService.getPlans(distinctIds);
+        Set<Long> alreadySubscribed = accessCache.filterSubscribed(userId, plans.keySet());
+
+        Map<Long, SubscriptionOutcome> outcomes = new LinkedHashMap<>();
+        List<Long> toInsert = new ArrayList<>();
+        for (Long planId : distinctIds) {
+            if (!plans.containsKey(planId)) {
+                outcomes.put(planId, new SubscriptionOutcome(planId, SubscriptionOutcome.Status.NOT_FOUND, "Plan not found"));
+            } else if (alreadySubscribed.contains(planId)) {
+                outcomes.put(planId, new SubscriptionOutcome(planId, SubscriptionOutcome.Status.ALREADY_SUBSCRIBED,
+                    "You are already subscribed to this plan"));
+            } else {
+                toInsert.add(planId);
+                outcomes.put(planId, null);
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            try {
+                Map<Long, Subscription> inserted = new HashMap<>();
+                transactionTemplate.executeWithoutResult(status -> {
+                    User user = userRepository.getReferenceById(userId);
+                    LocalDateTime now = LocalDateTime.now();
+                    for (Long planId : toInsert) {
+                        inserted.put(planId, newSubscription(user, planId, plans.get(planId), now));
+                    }
+                    subscriptionRepository.saveAllAndFlush(inserted.values());
+                    for (Long planId : toInsert) {
+                        ledger.recordSubscribed(userId, planId, plans.get(planId), now);
+                        analyticsService.recordSubscribed(plans.get(planId), now.toLocalDate(), 1);
+                    }
+                });
+                for (Long planId : toInsert) {
+                    accessCache.onSubscribed(userId, planId, inserted.get(planId).getExpiresAt());
+                    leaderboardService.adjust(TrainerLeaderboardService.Board.SUBSCRIBERS,
+                        plans.get(planId).getTrainerId(), 1);
+                    outcomes.put(planId, new SubscriptionOutcome(planId, SubscriptionOutcome.Status.SUBSCRIBED, null));
+                }
+            } catch (DataIntegrityViolationException e) {
+                for (Long planId : toInsert) {
+                    outcomes.put(planId, subscribeOne(userId, planId));
+                }
+            }
+        }
+        return new ArrayList<>(outcomes.values());
+    }
+
+    private SubscriptionOutcome subscribeOne(Long userId, Long planId) {
+        try {
+            subscribeToPlan(userId, planId);
+            return new SubscriptionOutcome(planId, SubscriptionOutcome.Status.SUBSCRIBED, null);
+        } catch (RuntimeException e) {
+            SubscriptionOutcome.Status status = "You are already subscribed to this plan".equals(e.getMessage())
+                ? SubscriptionOutcome.Status.ALREADY_SUBSCRIBED
+                : SubscriptionOutcome.Status.FAILED;
+            return new SubscriptionOutcome(planId, status, e.getMessage());
+        }
+    }
+
+    // check subscription status (in-memory once the user's plan IDs are cached)
     public boolean isSubscribed(Long userId, Long planId) {
-        return subscriptionRepository.existsByUserIdAndPlanId(userId, planId);
+        return accessCache.isSubscribed(userId, planId);
+    }
+
+    // which of the given plans the user is subscribed to
+    public Set<Long> filterSubscribed(Long userId, Collection<Long> planIds) {
+        return accessCache.filterSubscribed(userId, planIds);
     }
 
-    // get IDs of plans user has subscribed to
+    // get IDs of plans user is currently subscribed to (expired ones excluded)
     public List<Long> getSubscribedPlanIds(Long userId) {
-        List<Subscription> subscriptions = subscriptionRepository.findByUserId(userId);
-        return subscriptions.stream()
-            .map(s -> s.getPlan().getId())
-            .collect(Collectors.toList());
+        return accessCache.activePlanIds(userId);
+    }
+
+    // one page of the user's subscription history (ledger projection), newest first;
+    // may trail the latest subscriptions by a few seconds while the projector catches up
+    public CursorPage<SubscriptionHistoryEntry> getSubscriptionHistory(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        Long beforeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                beforeId = Long.parseLong(CursorUtil.decode(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        // fetch one extra row to know if there's a next page
+        List<SubscriptionHistoryEntry> entries = historyRepository.findPage(userId, beforeId,
+            PageRequest.of(0, pageSize + 1));
+        String nextCursor = null;
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            nextCursor = CursorUtil.encode(entries.get(pageSize - 1).getEventId());
+        }
+        return new CursorPage<>(entries, nextCursor);
     }
 
-    // get full subscription details with plan info
+    // get full subscription details with plan info, expired ones included (expiredAt set)
     public List<Subscription> getUserSubscriptions(Long userId) {
         return subscriptionRepository.findSubscriptionsWithPlansByUserId(userId);
     }
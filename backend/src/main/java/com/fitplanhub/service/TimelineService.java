@@ -0,0 +1,81 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.entity.FitnessPlan;
+import com.fitplanhub.entity.TimelineEntry;
+import com.fitplanhub.entity.Trainer;
+import com.fitplanhub.repository.TimelineRepository;
+import com.fitplanhub.repository.TrainerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// keeps each user's materialized timeline in sync (fan-out on write)
+// trainers with very large followings switch to pull mode so one publish stays cheap
+@Service
+public class TimelineService {
+
+    @Autowired
+    private TimelineRepository timelineRepository;
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Value("${feed.fanout.max-followers:10000}")
+    private long maxFanOutFollowers;
+
+    // push a freshly created plan to all followers, unless the trainer is in pull mode
+    @Transactional
+    public void onPlanCreated(FitnessPlan plan) {
+        Trainer trainer = plan.getTrainer();
+        if (trainer.isFeedPullMode()) {
+            return;
+        }
+        timelineRepository.fanOutPlan(trainer.getId(), plan.getId(), plan.getCreatedAt());
+    }
+
+    // bulk import: one statement pushes a whole chunk of plans (caller has checked pull mode)
+    @Transactional
+    public void onPlansImported(Long trainerId, Collection<Long> planIds) {
+        if (!planIds.isEmpty()) {
+            timelineRepository.fanOutPlans(trainerId, planIds);
+        }
+    }
+
+    // timeline rows only hold the (immutable) creation time, content is joined at read time,
+    // so a deleted plan is the only change that needs repairing; reads already skip
+    // soft-deleted plans, the rows themselves are removed in batches by the cleanup job
+    @Transactional
+    public int deletePlanEntries(Long planId, int limit) {
+        return timelineRepository.deleteBatchByPlanId(planId, limit);
+    }
+
+    // backfill the new follower's timeline, or flip the trainer to pull mode once they get too big
+    @Transactional
+    public void onFollow(Long userId, Trainer trainer, long followerCount) {
+        boolean pullMode = trainer.isFeedPullMode();
+        if (!pullMode && followerCount > maxFanOutFollowers) {
+            trainerRepository.enableFeedPullMode(trainer.getId());
+            pullMode = true;
+        }
+        if (!pullMode) {
+            timelineRepository.backfillTrainerPlans(userId, trainer.getId());
+        }
+    }
+
+    // drop the trainer's plans from the user's timeline
+    @Transactional
+    public void onUnfollow(Long userId, Long trainerId) {
+        timelineRepository.deleteByUserIdAndTrainerId(userId, trainerId);
+    }
+
+    // one indexed range scan over the user's timeline
+    public List<TimelineEntry> getTimelinePage(Long userId, LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        return timelineRepository.findTimelinePage(userId, cursorCreatedAt, cursorId, PageRequest.of(0, limit));
+    }
+}
@@ -0,0 +1,91 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.FitnessPlanResponse;
+import com.fitplanhub.dto.PlanAnalytics;
+import com.fitplanhub.dto.PlanDailyStat;
+import com.fitplanhub.entity.PlanSubscriberCount;
+import com.fitplanhub.entity.TrainerRevenue;
+import com.fitplanhub.repository.PlanDailyStatsRepository;
+import com.fitplanhub.repository.PlanSubscriberCountRepository;
+import com.fitplanhub.repository.TrainerRevenueRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// trainer-facing subscription figures, read from precomputed tables only (no scan of
+// subscriptions): lifetime totals come from the ledger projections and trail them by the
+// projector's interval, daily figures come from rollups updated in the subscribe transaction
+@Service
+public class TrainerAnalyticsService {
+
+    public static final int MAX_ANALYTICS_DAYS = 90;
+
+    @Autowired
+    private TrainerRevenueRepository trainerRevenueRepository;
+
+    @Autowired
+    private PlanSubscriberCountRepository planSubscriberCountRepository;
+
+    @Autowired
+    private PlanDailyStatsRepository planDailyStatsRepository;
+
+    // add new subscriptions to the plan's rollup for the day; joins the subscribe transaction
+    // so the rollup commits or rolls back with the subscriptions it counts
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSubscribed(PlanCacheService.CachedPlan plan, LocalDate day, int count) {
+        FitnessPlanResponse details = plan.getFull();
+        double price = details.getPrice() == null ? 0 : details.getPrice();
+        planDailyStatsRepository.increment(details.getId(), plan.getTrainerId(), day, count, price * count,
+            details.getTitle());
+    }
+
+    // lifetime revenue and subscriptions, plus current/lifetime subscribers per plan
+    public Map<String, Object> getRevenueSummary(Long trainerId) {
+        TrainerRevenue totals = trainerRevenueRepository.findById(trainerId)
+            .orElse(new TrainerRevenue(trainerId, 0.0, 0L));
+        List<PlanSubscriberCount> plans = planSubscriberCountRepository.findByTrainerIdOrderByPlanId(trainerId);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("revenue", totals.getRevenue());
+        summary.put("subscriptions", totals.getSubscriptions());
+        summary.put("plans", plans);
+        return summary;
+    }
+
+    // new subscriptions and revenue per plan per day over the last `days` days (today included);
+    // days without subscriptions have no row and are left out
+    public Map<String, Object> getDailyAnalytics(Long trainerId, int days) {
+        if (days < 1 || days > MAX_ANALYTICS_DAYS) {
+            throw new RuntimeException("days must be between 1 and " + MAX_ANALYTICS_DAYS);
+        }
+        LocalDate until = LocalDate.now();
+        LocalDate since = until.minusDays(days - 1L);
+        List<PlanDailyStat> rows = planDailyStatsRepository.findByTrainerSince(trainerId, since);
+
+        // rows come ordered by plan, then day; titles come from the rollup rows themselves,
+        // so plans deleted since keep their figures and title
+        Map<Long, PlanAnalytics> plans = new LinkedHashMap<>();
+        long totalSubscriptions = 0;
+        double totalRevenue = 0;
+        for (PlanDailyStat row : rows) {
+            plans.computeIfAbsent(row.getPlanId(), PlanAnalytics::new).add(row);
+            totalSubscriptions += row.getSubscriptions();
+            totalRevenue += row.getRevenue();
+        }
+
+        Map<String, Object> analytics = new LinkedHashMap<>();
+        analytics.put("since", since);
+        analytics.put("until", until);
+        analytics.put("subscriptions", totalSubscriptions);
+        analytics.put("revenue", totalRevenue);
+        analytics.put("plans", new ArrayList<>(plans.values()));
+        return analytics;
+    }
+}
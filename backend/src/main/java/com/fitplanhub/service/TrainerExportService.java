@@ -0,0 +1,126 @@
+package com.fitplanhub.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitplanhub.dto.ExportFormat;
+import com.fitplanhub.dto.FitnessPlanResponse;
+import com.fitplanhub.dto.SubscriberExportRow;
+import com.fitplanhub.repository.FitnessPlanRepository;
+import com.fitplanhub.repository.SubscriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// streams a trainer's catalogue and subscriber list straight from a forward-only
+// database cursor to the response, one row at a time, so memory stays constant
+@Service
+public class TrainerExportService {
+
+    // flush the response every N rows instead of after each one
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String[] PLAN_COLUMNS =
+        {"id", "title", "description", "price", "duration", "createdAt"};
+
+    private static final String[] SUBSCRIBER_COLUMNS =
+        {"subscriptionId", "userId", "userName", "planId", "planTitle", "price", "subscribedAt"};
+
+    @Autowired
+    private FitnessPlanRepository fitnessPlanRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // streaming queries need an open (read-only) transaction for as long as the cursor is read
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void exportPlans(Long trainerId, ExportFormat format, OutputStream out) throws IOException {
+        export(out, () -> fitnessPlanRepository.streamResponsesByTrainerId(trainerId), format, PLAN_COLUMNS,
+            plan -> new Object[] {plan.getId(), plan.getTitle(), plan.getDescription(),
+                plan.getPrice(), plan.getDuration(), plan.getCreatedAt()});
+    }
+
+    public void exportSubscribers(Long trainerId, ExportFormat format, OutputStream out) throws IOException {
+        export(out, () -> subscriptionRepository.streamSubscribersByTrainerId(trainerId), format, SUBSCRIBER_COLUMNS,
+            row -> new Object[] {row.getSubscriptionId(), row.getUserId(), row.getUserName(),
+                row.getPlanId(), row.getPlanTitle(), row.getPrice(), row.getSubscribedAt()});
+    }
+
+    private <T> void export(OutputStream out, Supplier<Stream<T>> query, ExportFormat format,
+                            String[] columns, Function<T, Object[]> csvValues) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> rows = query.get()) {
+                    if (format == ExportFormat.CSV) {
+                        writeCsvLine(out, columns);
+                    }
+                    int written = 0;
+                    Iterator<T> it = rows.iterator();
+                    while (it.hasNext()) {
+                        T row = it.next();
+                        if (format == ExportFormat.CSV) {
+                            writeCsvLine(out, csvValues.apply(row));
+                        } else {
+                            out.write(objectMapper.writeValueAsBytes(row));
+                            out.write('\n');
+                        }
+                        if (++written % FLUSH_EVERY == 0) {
+                            out.flush();
+                        }
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeCsvLine(OutputStream out, Object[] values) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(csvField(values[i]));
+        }
+        line.append("\r\n");
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // RFC 4180 quoting: wrap in quotes when the value contains a separator, quote or line break
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
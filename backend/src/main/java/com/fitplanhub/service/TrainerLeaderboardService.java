@@ -0,0 +1,163 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.LeaderboardEntry;
+import com.fitplanhub.dto.TrainerCount;
+import com.fitplanhub.entity.Trainer;
+import com.fitplanhub.repository.SubscriptionRepository;
+import com.fitplanhub.repository.TrainerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// "most followed" / "most subscribed" trainer leaderboards kept in memory
+// each board is a skip list ordered by count, updated incrementally from follow and
+// subscription events, so reading the top K never sorts the trainers table
+@Service
+public class TrainerLeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainerLeaderboardService.class);
+
+    public static final int MAX_LIMIT = 50;
+
+    public enum Board {
+        FOLLOWERS, SUBSCRIBERS;
+
+        public static Board fromParam(String value) {
+            try {
+                return Board.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid leaderboard type: " + value);
+            }
+        }
+    }
+
+    // immutable (count, trainerId) pair; highest count first, lowest ID breaks ties
+    private static final class Score {
+        private final long count;
+        private final long trainerId;
+
+        private Score(long count, long trainerId) {
+            this.count = count;
+            this.trainerId = trainerId;
+        }
+    }
+
+    private static final Comparator<Score> RANKING =
+        Comparator.<Score>comparingLong(s -> -s.count).thenComparingLong(s -> s.trainerId);
+
+    // one board: current score per trainer plus the ranked skip list
+    private static final class Ranking {
+        private Map<Long, Score> scores = new HashMap<>();
+        private volatile ConcurrentSkipListSet<Score> ranked = new ConcurrentSkipListSet<>(RANKING);
+
+        // writers are serialized per board; readers iterate the skip list without locking
+        private synchronized void adjust(long trainerId, long delta) {
+            apply(scores, ranked, trainerId, delta);
+        }
+
+        // the reloaded board is built off to the side and swapped in, so readers never
+        // iterate a half-cleared list
+        private synchronized void reset(List<TrainerCount> counts) {
+            Map<Long, Score> newScores = new HashMap<>(counts.size() * 2);
+            ConcurrentSkipListSet<Score> newRanked = new ConcurrentSkipListSet<>(RANKING);
+            for (TrainerCount count : counts) {
+                apply(newScores, newRanked, count.getTrainerId(), count.getCount());
+            }
+            scores = newScores;
+            ranked = newRanked;
+        }
+
+        private static void apply(Map<Long, Score> scores, ConcurrentSkipListSet<Score> ranked,
+                                  long trainerId, long delta) {
+            Score old = scores.get(trainerId);
+            long count = (old == null ? 0 : old.count) + delta;
+            if (old != null) {
+                ranked.remove(old);
+            }
+            if (count > 0) {
+                Score updated = new Score(count, trainerId);
+                scores.put(trainerId, updated);
+                ranked.add(updated);
+            } else {
+                scores.remove(trainerId);
+            }
+        }
+    }
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private FollowerCounterService followerCounterService;
+
+    private final Map<Board, Ranking> boards = new EnumMap<>(Board.class);
+    private final Map<Long, String> trainerNames = new ConcurrentHashMap<>();
+
+    public TrainerLeaderboardService() {
+        for (Board board : Board.values()) {
+            boards.put(board, new Ranking());
+        }
+    }
+
+    // seed both boards with two aggregate queries; the periodic reload corrects any drift
+    // (plans deleted with their subscriptions); follower counts include deltas not flushed yet
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${trainer.leaderboard.reload-interval-ms:3600000}",
+               fixedDelayString = "${trainer.leaderboard.reload-interval-ms:3600000}")
+    public void load() {
+        boards.get(Board.FOLLOWERS).reset(
+            followerCounterService.countsWithPending(trainerRepository::findFollowerCounts));
+        boards.get(Board.SUBSCRIBERS).reset(subscriptionRepository.countSubscriptionsPerTrainer());
+        log.info("Trainer leaderboards loaded");
+    }
+
+    public void adjust(Board board, Long trainerId, long delta) {
+        boards.get(board).adjust(trainerId, delta);
+    }
+
+    // top trainers on a board; names of unseen trainers are fetched once by primary key
+    public List<LeaderboardEntry> top(Board board, int limit) {
+        int n = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<Score> top = new ArrayList<>(n);
+        Iterator<Score> it = boards.get(board).ranked.iterator();
+        while (top.size() < n && it.hasNext()) {
+            top.add(it.next());
+        }
+
+        List<Long> unnamed = new ArrayList<>();
+        for (Score score : top) {
+            if (!trainerNames.containsKey(score.trainerId)) {
+                unnamed.add(score.trainerId);
+            }
+        }
+        if (!unnamed.isEmpty()) {
+            for (Trainer trainer : trainerRepository.findAllById(unnamed)) {
+                trainerNames.put(trainer.getId(), trainer.getFullName());
+            }
+        }
+
+        List<LeaderboardEntry> entries = new ArrayList<>(top.size());
+        for (Score score : top) {
+            entries.add(new LeaderboardEntry(entries.size() + 1, score.trainerId,
+                trainerNames.get(score.trainerId), score.count));
+        }
+        return entries;
+    }
+}
@@ -5,13 +5,16 @@ import com.fitplanhub.dto.FitnessPlanResponse;
 import com.fitplanhub.entity.FitnessPlan;
 import com.fitplanhub.entity.Trainer;
 import com.fitplanhub.repository.FitnessPlanRepository;
+import com.fitplanhub.repository.SubscriptionRepository;
 import com.fitplanhub.repository.TrainerRepository;
+import com.fitplanhub.util.TransactionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
 
 // manages trainer's fitness plan CRUD operations
 @Service
@@ -23,9 +26,25 @@ public class TrainerPlanService {
     @Autowired
     private TrainerRepository trainerRepository;
 
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private FeedCacheService feedCacheService;
+
+    @Autowired
+    private PlanCacheService planCacheService;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private TrainerLeaderboardService leaderboardService;
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
-    // create new plan for a trainer
+    // create new plan for a trainer and push it to followers' timelines
+    @Transactional
     public FitnessPlanResponse createPlan(Long trainerId, FitnessPlanRequest request) {
         Trainer trainer = trainerRepository.findById(trainerId)
             .orElseThrow(() -> new RuntimeException("Trainer not found"));
@@ -38,15 +57,14 @@ public class TrainerPlanService {
         plan.setTrainer(trainer);
 
         FitnessPlan savedPlan = fitnessPlanRepository.save(plan);
+        timelineService.onPlanCreated(savedPlan);
+        feedCacheService.evictFollowersOf(trainerId);
         return mapToResponse(savedPlan);
     }
 
     // get all plans created by this trainer
     public List<FitnessPlanResponse> getTrainerPlans(Long trainerId) {
-        List<FitnessPlan> plans = fitnessPlanRepository.findByTrainerIdOrderByCreatedAtDesc(trainerId);
-        return plans.stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+        return fitnessPlanRepository.findResponsesByTrainerId(trainerId);
     }
 
     // update plan - must be owned by this trainer
@@ -65,10 +83,14 @@ public class TrainerPlanService {
         plan.setDuration(request.getDuration());
 
         FitnessPlan updatedPlan = fitnessPlanRepository.save(plan);
+        planCacheService.invalidate(planId);
+        feedCacheService.evictFollowersOf(trainerId);
         return mapToResponse(updatedPlan);
     }
 
-    // delete plan - ownership check
+    // delete plan - ownership check, then soft delete; the plan disappears from every
+    // query right away, subscriptions and timeline rows are purged later by PlanCleanupService
+    @Transactional
     public void deletePlan(Long trainerId, Long planId) {
         FitnessPlan plan = fitnessPlanRepository.findById(planId)
             .orElseThrow(() -> new RuntimeException("Plan not found"));
@@ -78,7 +100,12 @@ public class TrainerPlanService {
             throw new RuntimeException("Unauthorized: You can only delete your own plans");
         }
 
-        fitnessPlanRepository.delete(plan);
+        plan.setDeletedAt(LocalDateTime.now());
+        long subscriptions = subscriptionRepository.countByPlanIdAndExpiredAtIsNull(planId);
+        TransactionUtil.afterCommit(() -> leaderboardService.adjust(
+            TrainerLeaderboardService.Board.SUBSCRIBERS, trainerId, -subscriptions));
+        planCacheService.invalidate(planId);
+        feedCacheService.evictFollowersOf(trainerId);
     }
 
     // convert entity to DTO
@@ -0,0 +1,286 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.TrainerIndexRow;
+import com.fitplanhub.repository.TrainerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// in-process inverted index over trainer names and specializations
+// every token is indexed by its trigrams, and by its single characters and bigrams so that
+// 1-2 char terms match anywhere in a word as well (like longer ones, prefix hits rank higher);
+// postings are sorted arrays of trainer IDs
+@Component
+public class TrainerSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainerSearchIndex.class);
+
+    // per-term scores: a hit in the name ranks above a hit in the specializations
+    private static final int NAME_EXACT = 10;
+    private static final int NAME_PREFIX = 6;
+    private static final int NAME_SUBSTRING = 4;
+    private static final int SPEC_EXACT = 5;
+    private static final int SPEC_PREFIX = 3;
+    private static final int SPEC_SUBSTRING = 2;
+
+    private static final long[] NO_IDS = new long[0];
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    // searchable text of one trainer
+    private static final class Doc {
+        private final String[] nameTokens;
+        private final String[] specTokens;
+
+        private Doc(String[] nameTokens, String[] specTokens) {
+            this.nameTokens = nameTokens;
+            this.specTokens = specTokens;
+        }
+    }
+
+    // replaced wholesale on rebuild; posting arrays are never mutated in place,
+    // so readers need no locking
+    private volatile Map<Long, Doc> docs = new ConcurrentHashMap<>();
+    private volatile Map<String, long[]> postings = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // trainers added while a rebuild is loading rows, replayed onto the new index
+    // (the load may or may not have seen them); null when no rebuild is running
+    private List<TrainerIndexRow> addedDuringRebuild;
+
+    private final Object rebuildLock = new Object();
+
+    // build the index from the trainers table once the app is up
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            rebuildIndex();
+        }
+    }
+
+    private void rebuildIndex() {
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        List<TrainerIndexRow> rows = trainerRepository.findAllForIndexing();
+
+        Map<Long, Doc> newDocs = new ConcurrentHashMap<>(rows.size() * 2);
+        Map<String, List<Long>> building = new HashMap<>();
+        for (TrainerIndexRow row : rows) {
+            Doc doc = toDoc(row.getFullName(), row.getSpecializations());
+            newDocs.put(row.getId(), doc);
+            for (String gram : gramsOf(doc)) {
+                // rows arrive in ID order, so appending keeps every posting list sorted
+                building.computeIfAbsent(gram, g -> new ArrayList<>()).add(row.getId());
+            }
+        }
+
+        Map<String, long[]> newPostings = new ConcurrentHashMap<>(building.size() * 2);
+        building.forEach((gram, ids) -> newPostings.put(gram, ids.stream().mapToLong(Long::longValue).toArray()));
+
+        synchronized (this) {
+            docs = newDocs;
+            postings = newPostings;
+            for (TrainerIndexRow added : addedDuringRebuild) {
+                addLocked(added.getId(), added.getFullName(), added.getSpecializations());
+            }
+            addedDuringRebuild = null;
+            ready = true;
+        }
+        log.info("Trainer search index built: {} trainers, {} grams", newDocs.size(), newPostings.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // add a newly registered trainer without rebuilding
+    public synchronized void add(Long trainerId, String fullName, String specializations) {
+        addLocked(trainerId, fullName, specializations);
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.add(new TrainerIndexRow(trainerId, fullName, specializations, 0));
+        }
+    }
+
+    // re-adding a trainer is harmless: the doc is replaced and postings skip existing IDs
+    private void addLocked(Long trainerId, String fullName, String specializations) {
+        Doc doc = toDoc(fullName, specializations);
+        docs.put(trainerId, doc);
+        for (String gram : gramsOf(doc)) {
+            postings.put(gram, insertSorted(postings.getOrDefault(gram, NO_IDS), trainerId));
+        }
+    }
+
+    /**
+     * Ranked search: trainers matching more query terms come first, then higher score, then lower ID
+     *
+     * @param query free text, split into terms
+     * @param limit maximum number of trainer IDs to return
+     * @return matching trainer IDs, best first
+     */
+    public List<Long> search(String query, int limit) {
+        String[] terms = tokenize(query);
+        if (terms.length == 0) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, int[]> hits = new HashMap<>(); // id -> {terms matched, score}
+        for (String term : new LinkedHashSet<>(Arrays.asList(terms))) {
+            for (long id : candidates(term)) {
+                Doc doc = docs.get(id);
+                if (doc == null) {
+                    continue;
+                }
+                int score = score(doc, term);
+                if (score > 0) {
+                    int[] hit = hits.computeIfAbsent(id, k -> new int[2]);
+                    hit[0]++;
+                    hit[1] += score;
+                }
+            }
+        }
+
+        List<Map.Entry<Long, int[]>> ranked = new ArrayList<>(hits.entrySet());
+        ranked.sort(Comparator.<Map.Entry<Long, int[]>>comparingInt(e -> -e.getValue()[0])
+            .thenComparingInt(e -> -e.getValue()[1])
+            .thenComparingLong(Map.Entry::getKey));
+
+        List<Long> result = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            result.add(ranked.get(i).getKey());
+        }
+        return result;
+    }
+
+    // trainer IDs that may contain the term: intersect the term's trigram postings,
+    // or use the character/bigram postings for 1-2 char terms
+    private long[] candidates(String term) {
+        if (term.length() < 3) {
+            return postings.getOrDefault(term, NO_IDS);
+        }
+        List<long[]> lists = new ArrayList<>();
+        for (String gram : trigrams(term)) {
+            long[] list = postings.get(gram);
+            if (list == null) {
+                return NO_IDS;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(l -> l.length));
+        long[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    // verify the candidate actually contains the term and grade the match
+    private static int score(Doc doc, String term) {
+        int best = 0;
+        for (String token : doc.nameTokens) {
+            best = Math.max(best, grade(token, term, NAME_EXACT, NAME_PREFIX, NAME_SUBSTRING));
+        }
+        for (String token : doc.specTokens) {
+            best = Math.max(best, grade(token, term, SPEC_EXACT, SPEC_PREFIX, SPEC_SUBSTRING));
+        }
+        return best;
+    }
+
+    private static int grade(String token, String term, int exact, int prefix, int substring) {
+        if (token.equals(term)) {
+            return exact;
+        }
+        if (token.startsWith(term)) {
+            return prefix;
+        }
+        return token.contains(term) ? substring : 0;
+    }
+
+    private static Doc toDoc(String fullName, String specializations) {
+        return new Doc(tokenize(fullName), tokenize(specializations));
+    }
+
+    private static Set<String> gramsOf(Doc doc) {
+        Set<String> grams = new HashSet<>();
+        addGrams(grams, doc.nameTokens);
+        addGrams(grams, doc.specTokens);
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, String[] tokens) {
+        for (String token : tokens) {
+            for (int i = 0; i < token.length(); i++) {
+                grams.add(token.substring(i, i + 1));
+                if (i + 2 <= token.length()) {
+                    grams.add(token.substring(i, i + 2));
+                }
+            }
+            grams.addAll(trigrams(token));
+        }
+    }
+
+    private static List<String> trigrams(String token) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            grams.add(token.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(t -> !t.isEmpty())
+            .toArray(String[]::new);
+    }
+
+    private static long[] insertSorted(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        int insertAt = -pos - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(ids, insertAt, result, insertAt + 1, ids.length - insertAt);
+        return result;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
@@ -1,21 +1,41 @@
 package com.fitplanhub.service;
 
+import com.fitplanhub.dto.CursorPage;
 import com.fitplanhub.dto.TrainerResponse;
 import com.fitplanhub.dto.TrainerSignupRequest;
+import com.fitplanhub.dto.TrainerSort;
+import com.fitplanhub.dto.TrainerSuggestion;
+import com.fitplanhub.dto.TrainerSummary;
 import com.fitplanhub.entity.Trainer;
 import com.fitplanhub.repository.TrainerRepository;
+import com.fitplanhub.util.CursorUtil;
+import com.fitplanhub.util.LongHashSet;
+import com.fitplanhub.util.TransactionUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 // Business logic for trainer operations
 @Service
 public class TrainerService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    // tag matches up to this many are passed to SQL as an ID list, more are filtered while scanning
+    private static final int MAX_TAG_FILTER_IDS = 500;
+    private static final int MAX_SCAN_CHUNK = 1000;
+    private static final int MAX_FACETS = 20;
+
     @Autowired
     private TrainerRepository trainerRepository;
 
@@ -25,6 +45,18 @@ public class TrainerService {
     @Autowired
     private FollowService followService;
 
+    @Autowired
+    private TrainerSearchIndex trainerSearchIndex;
+
+    @Autowired
+    private TrainerSuggestIndex trainerSuggestIndex;
+
+    @Autowired
+    private TrainerTagIndex trainerTagIndex;
+
+    @Autowired
+    private FollowerCounterService followerCounterService;
+
     // sign up a new trainer - check email, hash password, save to db
     @Transactional
     public Trainer registerTrainer(TrainerSignupRequest signupRequest) {
@@ -45,37 +77,154 @@ public class TrainerService {
         trainer.setSpecializations(signupRequest.getSpecializations());
         trainer.setBio(signupRequest.getBio());
 
-        return trainerRepository.save(trainer);
+        Trainer saved = trainerRepository.save(trainer);
+        TransactionUtil.afterCommit(() -> {
+            trainerSearchIndex.add(saved.getId(), saved.getFullName(), saved.getSpecializations());
+            trainerSuggestIndex.add(saved.getId(), saved.getFullName(), saved.getSpecializations());
+            trainerTagIndex.add(saved.getId(), saved.getSpecializations());
+        });
+        return saved;
     }
     
-    // get all trainers, including follow status for this user
-    public List<TrainerResponse> getAllTrainers(Long userId) {
-        List<Trainer> trainers = trainerRepository.findAll();
-        return trainers.stream()
-            .map(trainer -> mapToTrainerResponse(trainer, userId))
-            .collect(Collectors.toList());
+    // one page of the trainer directory (no bios), including follow status for this user
+    // optional tag filter: matchAll = trainer has every tag, otherwise any of them
+    public CursorPage<TrainerSummary> getTrainerDirectory(Long userId, String sortParam, List<String> tags,
+                                                          boolean matchAll, String cursor, int size) {
+        TrainerSort sort = TrainerSort.fromParam(sortParam);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Object cursorKey = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorUtil.decode(cursor, 3);
+            if (!parts[0].equals(sort.name())) {
+                throw new RuntimeException("Cursor does not match sort order");
+            }
+            cursorKey = sort.parseKey(parts[1]);
+            try {
+                cursorId = Long.parseLong(parts[2]);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        // resolve the tag filter against the bitmap index
+        BitSet matches = null;
+        if (tags != null && !tags.isEmpty()) {
+            matches = trainerTagIndex.filter(tags, matchAll);
+            if (matches.isEmpty()) {
+                return new CursorPage<>(new ArrayList<>(), null);
+            }
+        }
+
+        // fetch one extra row to know if there's a next page
+        List<TrainerSummary> trainers;
+        if (matches == null) {
+            trainers = trainerRepository.findDirectoryPage(sort, cursorKey, cursorId, null, pageSize + 1);
+        } else if (matches.cardinality() <= MAX_TAG_FILTER_IDS) {
+            // few matches: pass them as an ID list
+            List<Long> ids = matches.stream().mapToObj(Long::valueOf).collect(Collectors.toList());
+            trainers = trainerRepository.findDirectoryPage(sort, cursorKey, cursorId, ids, pageSize + 1);
+        } else {
+            trainers = scanDirectory(sort, cursorKey, cursorId, matches, pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (trainers.size() > pageSize) {
+            trainers = trainers.subList(0, pageSize);
+            TrainerSummary last = trainers.get(pageSize - 1);
+            nextCursor = CursorUtil.encode(sort.name(), sort.keyOf(last), last.getTrainerId());
+        }
+
+        LongHashSet followedIds = followService.getFollowedTrainerIdSet(userId);
+        for (TrainerSummary trainer : trainers) {
+            trainer.setFollowing(followedIds.contains(trainer.getTrainerId()));
+            trainer.setFollowerCount(
+                followerCounterService.currentCount(trainer.getTrainerId(), trainer.getFollowerCount()));
+        }
+        return new CursorPage<>(trainers, nextCursor);
+    }
+
+    // many matches: walk the directory in sort order and keep rows whose bit is set; with at
+    // least MAX_TAG_FILTER_IDS matches the filter is dense enough that a few growing chunks
+    // fill a page, and the statement size stays fixed however many trainers match
+    private List<TrainerSummary> scanDirectory(TrainerSort sort, Object cursorKey, Long cursorId,
+                                               BitSet matches, int limit) {
+        List<TrainerSummary> result = new ArrayList<>(limit);
+        int chunk = Math.min(limit * 4, MAX_SCAN_CHUNK);
+        while (true) {
+            List<TrainerSummary> rows = trainerRepository.findDirectoryPage(sort, cursorKey, cursorId, null, chunk);
+            for (TrainerSummary row : rows) {
+                if (matches.get(Math.toIntExact(row.getTrainerId()))) {
+                    result.add(row);
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                }
+            }
+            if (rows.size() < chunk) {
+                return result;
+            }
+            TrainerSummary last = rows.get(rows.size() - 1);
+            cursorKey = sort.keyOf(last);
+            cursorId = last.getTrainerId();
+            chunk = Math.min(chunk * 2, MAX_SCAN_CHUNK);
+        }
+    }
+
+    // trainer counts of the most common tags within the (optionally tag-filtered) directory
+    public Map<String, Integer> getTagFacets(List<String> tags, boolean matchAll) {
+        BitSet scope = tags == null || tags.isEmpty() ? null : trainerTagIndex.filter(tags, matchAll);
+        return trainerTagIndex.facetCounts(scope, MAX_FACETS);
+    }
+
+    // typeahead completions for trainer names and specializations
+    public List<TrainerSuggestion> suggest(String prefix, int limit) {
+        return trainerSuggestIndex.suggest(prefix, Math.min(limit, TrainerSuggestIndex.MAX_SUGGESTIONS));
+    }
+
+    // full trainer record, including bio
+    public TrainerResponse getTrainerDetails(Long trainerId, Long userId) {
+        Trainer trainer = trainerRepository.findById(trainerId)
+            .orElseThrow(() -> new RuntimeException("Trainer not found"));
+        TrainerResponse response = mapToTrainerResponse(trainer, new LongHashSet());
+        response.setFollowing(followService.isFollowing(userId, trainerId));
+        return response;
     }
     
-    // search by name or specialization
+    // search by name or specialization, ranked by the in-memory index
     public List<TrainerResponse> searchTrainers(String keyword, Long userId) {
-        List<Trainer> trainers = trainerRepository.searchByNameOrSpecialization(keyword);
+        List<Trainer> trainers;
+        if (trainerSearchIndex.isReady()) {
+            List<Long> rankedIds = trainerSearchIndex.search(keyword, MAX_SEARCH_RESULTS);
+            Map<Long, Trainer> byId = trainerRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Trainer::getId, Function.identity()));
+            trainers = rankedIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        } else {
+            // index is still being built at startup
+            trainers = trainerRepository.searchByNameOrSpecialization(keyword);
+        }
+        LongHashSet followedIds = followService.getFollowedTrainerIdSet(userId);
         return trainers.stream()
-            .map(trainer -> mapToTrainerResponse(trainer, userId))
+            .map(trainer -> mapToTrainerResponse(trainer, followedIds))
             .collect(Collectors.toList());
     }
     
-    // convert Trainer entity to response DTO
-    private TrainerResponse mapToTrainerResponse(Trainer trainer, Long userId) {
+    // convert Trainer entity to response DTO, follow status comes from the preloaded set
+    private TrainerResponse mapToTrainerResponse(Trainer trainer, LongHashSet followedIds) {
         TrainerResponse response = new TrainerResponse();
         response.setTrainerId(trainer.getId());
         response.setName(trainer.getFullName());
         response.setSpecializations(trainer.getSpecializations());
         response.setExperience(trainer.getYearsOfExperience());
         response.setBio(trainer.getBio());
+        response.setFollowerCount(followerCounterService.currentCount(trainer.getId(), trainer.getFollowerCount()));
         
         // check if user follows this trainer
-        boolean isFollowing = followService.isFollowing(userId, trainer.getId());
-        response.setFollowing(isFollowing);
+        response.setFollowing(followedIds.contains(trainer.getId()));
         
         return response;
     }
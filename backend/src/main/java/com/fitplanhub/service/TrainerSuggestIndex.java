@@ -0,0 +1,257 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.TrainerIndexRow;
+import com.fitplanhub.dto.TrainerSuggestion;
+import com.fitplanhub.repository.TrainerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// prefix trie for trainer-name and specialization typeahead
+// every node keeps its top completions precomputed (highest weight first),
+// so a lookup is a walk down the trie and returns an existing list
+@Component
+public class TrainerSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainerSuggestIndex.class);
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final String TYPE_TRAINER = "TRAINER";
+    private static final String TYPE_SPECIALIZATION = "SPECIALIZATION";
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    // children are kept sorted by character and replaced wholesale on change,
+    // so lock-free readers always see a consistent array
+    private static final class Node {
+        private final char ch;
+        private volatile Node[] children = new Node[0];
+        private volatile List<TrainerSuggestion> top = Collections.emptyList();
+
+        private Node(char ch) {
+            this.ch = ch;
+        }
+
+        private Node child(char c) {
+            Node[] current = children;
+            int lo = 0;
+            int hi = current.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                char midCh = current[mid].ch;
+                if (midCh < c) {
+                    lo = mid + 1;
+                } else if (midCh > c) {
+                    hi = mid - 1;
+                } else {
+                    return current[mid];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            Node created = new Node(c);
+            Node[] current = children;
+            Node[] next = Arrays.copyOf(current, current.length + 1);
+            int i = next.length - 1;
+            while (i > 0 && next[i - 1].ch > c) {
+                next[i] = next[i - 1];
+                i--;
+            }
+            next[i] = created;
+            children = next;
+            return created;
+        }
+
+        // insert or re-weight a suggestion in this node's top list
+        private void offer(TrainerSuggestion suggestion) {
+            List<TrainerSuggestion> next = new ArrayList<>(top.size() + 1);
+            for (TrainerSuggestion existing : top) {
+                if (!sameTarget(existing, suggestion)) {
+                    next.add(existing);
+                }
+            }
+            int pos = 0;
+            while (pos < next.size() && next.get(pos).getWeight() >= suggestion.getWeight()) {
+                pos++;
+            }
+            if (pos < MAX_SUGGESTIONS) {
+                next.add(pos, suggestion);
+            }
+            if (next.size() > MAX_SUGGESTIONS) {
+                next = next.subList(0, MAX_SUGGESTIONS);
+            }
+            top = Collections.unmodifiableList(new ArrayList<>(next));
+        }
+    }
+
+    // specialization display text and aggregate weight, keyed by lowercase text
+    private static final class SpecStats {
+        private final String display;
+        private long weight;
+
+        private SpecStats(String display) {
+            this.display = display;
+        }
+    }
+
+    private volatile Node root = new Node('\0');
+    private Map<String, SpecStats> specializations = new HashMap<>();
+
+    // trainers added while a rebuild is loading rows, replayed onto the new trie unless
+    // the load already saw them; null when no rebuild is running
+    private List<TrainerIndexRow> addedDuringRebuild;
+
+    private final Object rebuildLock = new Object();
+
+    // full rebuild at startup and periodically, so follower-count changes are reflected in weights
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${trainer.suggest.rebuild-interval-ms:600000}",
+               initialDelayString = "${trainer.suggest.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            rebuildIndex();
+        }
+    }
+
+    private void rebuildIndex() {
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        List<TrainerIndexRow> rows = trainerRepository.findAllForIndexing();
+
+        Node newRoot = new Node('\0');
+        Map<String, SpecStats> newSpecs = new HashMap<>();
+        Set<Long> loaded = new HashSet<>(rows.size() * 2);
+        for (TrainerIndexRow row : rows) {
+            loaded.add(row.getId());
+            insertTrainer(newRoot, row.getId(), row.getFullName(), row.getFollowerCount());
+            for (String spec : splitSpecializations(row.getSpecializations())) {
+                SpecStats stats = newSpecs.computeIfAbsent(spec.toLowerCase(Locale.ROOT), k -> new SpecStats(spec));
+                stats.weight += 1 + row.getFollowerCount();
+            }
+        }
+        newSpecs.forEach((key, stats) -> insert(newRoot, key, specSuggestion(stats)));
+
+        synchronized (this) {
+            root = newRoot;
+            specializations = newSpecs;
+            for (TrainerIndexRow added : addedDuringRebuild) {
+                // replaying a trainer the load already counted would add its weight twice
+                if (!loaded.contains(added.getId())) {
+                    addLocked(added.getId(), added.getFullName(), added.getSpecializations());
+                }
+            }
+            addedDuringRebuild = null;
+        }
+        log.info("Trainer suggest index built: {} trainers, {} specializations", rows.size(), newSpecs.size());
+    }
+
+    // add a newly registered trainer (no followers yet) without rebuilding
+    public synchronized void add(Long trainerId, String fullName, String specializationsText) {
+        addLocked(trainerId, fullName, specializationsText);
+        if (addedDuringRebuild != null) {
+            addedDuringRebuild.add(new TrainerIndexRow(trainerId, fullName, specializationsText, 0));
+        }
+    }
+
+    private void addLocked(Long trainerId, String fullName, String specializationsText) {
+        insertTrainer(root, trainerId, fullName, 0);
+        for (String spec : splitSpecializations(specializationsText)) {
+            String key = spec.toLowerCase(Locale.ROOT);
+            SpecStats stats = specializations.computeIfAbsent(key, k -> new SpecStats(spec));
+            stats.weight += 1;
+            insert(root, key, specSuggestion(stats));
+        }
+    }
+
+    /**
+     * Top completions for a prefix, highest weight first
+     * Returns a view of the precomputed list at the prefix's trie node
+     */
+    public List<TrainerSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+        Node node = root;
+        // lowercased the same way as the indexed keys
+        String key = prefix.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        List<TrainerSuggestion> top = node.top;
+        return top.size() <= limit ? top : top.subList(0, Math.max(0, limit));
+    }
+
+    // index the full name and each later word, so "smi" completes "Jane Smith"
+    private static void insertTrainer(Node root, Long trainerId, String fullName, long followerCount) {
+        if (fullName == null || fullName.isBlank()) {
+            return;
+        }
+        TrainerSuggestion suggestion = new TrainerSuggestion(fullName.trim(), TYPE_TRAINER, trainerId, followerCount);
+        String lower = fullName.trim().toLowerCase(Locale.ROOT);
+        insert(root, lower, suggestion);
+        for (int i = 1; i < lower.length(); i++) {
+            if (lower.charAt(i - 1) == ' ' && lower.charAt(i) != ' ') {
+                insert(root, lower.substring(i), suggestion);
+            }
+        }
+    }
+
+    private static void insert(Node root, String key, TrainerSuggestion suggestion) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.offer(suggestion);
+        }
+    }
+
+    private static TrainerSuggestion specSuggestion(SpecStats stats) {
+        return new TrainerSuggestion(stats.display, TYPE_SPECIALIZATION, null, stats.weight);
+    }
+
+    private static boolean sameTarget(TrainerSuggestion a, TrainerSuggestion b) {
+        return a.getType().equals(b.getType())
+            && (TYPE_TRAINER.equals(a.getType())
+                ? a.getTrainerId().equals(b.getTrainerId())
+                : a.getText().equalsIgnoreCase(b.getText()));
+    }
+
+    static List<String> splitSpecializations(String text) {
+        List<String> specs = new ArrayList<>();
+        if (text == null) {
+            return specs;
+        }
+        for (String part : text.split(",")) {
+            String spec = part.trim().replaceAll("\\s+", " ");
+            if (!spec.isEmpty()) {
+                specs.add(spec);
+            }
+        }
+        return specs;
+    }
+}
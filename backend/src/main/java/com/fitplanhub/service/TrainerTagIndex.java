@@ -0,0 +1,177 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.TrainerIndexRow;
+import com.fitplanhub.repository.TrainerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// specializations parsed into a dictionary of normalized tags, each tag mapped to a bitmap
+// of trainer IDs; AND/OR filters and facet counts are bitmap intersections, not SQL scans
+// trainer IDs are dense auto-increment values, so a plain BitSet indexed by ID stays compact
+@Component
+public class TrainerTagIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TrainerTagIndex.class);
+
+    @Autowired
+    private TrainerRepository trainerRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // dictionary: normalized tag -> code; code -> display text and bitmap
+    private Map<String, Integer> codes = new HashMap<>();
+    private List<String> displayNames = new ArrayList<>();
+    private List<BitSet> bitmaps = new ArrayList<>();
+    private BitSet allTrainers = new BitSet();
+    // trainer ID -> codes of its tags, for counting facets within a scope without copying bitmaps
+    private int[][] tagsByTrainer = new int[0][];
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<TrainerIndexRow> rows = trainerRepository.findAllForIndexing();
+
+        lock.writeLock().lock();
+        try {
+            codes = new HashMap<>();
+            displayNames = new ArrayList<>();
+            bitmaps = new ArrayList<>();
+            allTrainers = new BitSet();
+            tagsByTrainer = new int[0][];
+            for (TrainerIndexRow row : rows) {
+                addLocked(row.getId(), row.getSpecializations());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Trainer tag index built: {} trainers, {} tags", rows.size(), codes.size());
+    }
+
+    // add a newly registered trainer
+    public void add(Long trainerId, String specializations) {
+        lock.writeLock().lock();
+        try {
+            addLocked(trainerId, specializations);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Trainer IDs carrying all (matchAll) or any of the given tags
+     * Unknown tags match nothing
+     */
+    public BitSet filter(List<String> tags, boolean matchAll) {
+        lock.readLock().lock();
+        try {
+            BitSet result = null;
+            for (String tag : tags) {
+                Integer code = codes.get(normalize(tag));
+                BitSet bitmap = code == null ? new BitSet() : bitmaps.get(code);
+                if (result == null) {
+                    result = (BitSet) bitmap.clone();
+                } else if (matchAll) {
+                    result.and(bitmap);
+                } else {
+                    result.or(bitmap);
+                }
+            }
+            return result == null ? (BitSet) allTrainers.clone() : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The most common tags among trainers in scope with their counts, highest count first
+     * (zero counts omitted)
+     * Scoped counts walk the scope once and add up each trainer's tags, so no bitmap is copied
+     *
+     * @param scope trainer IDs to count within, or null for all trainers
+     * @param limit maximum number of tags returned
+     */
+    public Map<String, Integer> facetCounts(BitSet scope, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] counts = new int[bitmaps.size()];
+            if (scope == null) {
+                for (int code = 0; code < counts.length; code++) {
+                    counts[code] = bitmaps.get(code).cardinality();
+                }
+            } else {
+                for (int id = scope.nextSetBit(0); id >= 0; id = scope.nextSetBit(id + 1)) {
+                    if (id >= tagsByTrainer.length) {
+                        break;
+                    }
+                    int[] trainerCodes = tagsByTrainer[id];
+                    if (trainerCodes != null) {
+                        for (int code : trainerCodes) {
+                            counts[code]++;
+                        }
+                    }
+                }
+            }
+
+            List<Integer> top = new ArrayList<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    top.add(code);
+                }
+            }
+            top.sort(Comparator.<Integer>comparingInt(code -> -counts[code])
+                .thenComparing(displayNames::get));
+
+            Map<String, Integer> facets = new LinkedHashMap<>();
+            for (int i = 0; i < top.size() && i < limit; i++) {
+                int code = top.get(i);
+                facets.put(displayNames.get(code), counts[code]);
+            }
+            return facets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(Long trainerId, String specializations) {
+        int bit = Math.toIntExact(trainerId);
+        allTrainers.set(bit);
+        Set<Integer> trainerCodes = new LinkedHashSet<>();
+        for (String spec : TrainerSuggestIndex.splitSpecializations(specializations)) {
+            String tag = normalize(spec);
+            Integer code = codes.get(tag);
+            if (code == null) {
+                code = bitmaps.size();
+                codes.put(tag, code);
+                displayNames.add(spec);
+                bitmaps.add(new BitSet());
+            }
+            bitmaps.get(code).set(bit);
+            trainerCodes.add(code);
+        }
+
+        if (bit >= tagsByTrainer.length) {
+            tagsByTrainer = Arrays.copyOf(tagsByTrainer, Math.max(bit + 1, tagsByTrainer.length * 2));
+        }
+        tagsByTrainer[bit] = trainerCodes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static String normalize(String tag) {
+        return tag.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+}
@@ -1,13 +1,25 @@
 package com.fitplanhub.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fitplanhub.dto.CursorPage;
 import com.fitplanhub.dto.FitnessPlanResponse;
+import com.fitplanhub.dto.FitnessPlanSummary;
+import com.fitplanhub.dto.PlanBrowseFilter;
+import com.fitplanhub.dto.PlanSort;
 import com.fitplanhub.entity.FitnessPlan;
 import com.fitplanhub.repository.FitnessPlanRepository;
+import com.fitplanhub.util.CursorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -15,52 +27,136 @@ import java.util.stream.Collectors;
 @Service
 public class UserFeedService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private FitnessPlanRepository fitnessPlanRepository;
 
     @Autowired
-    private FollowService followService;
+    private FeedMergeEngine feedMergeEngine;
+
+    @Autowired
+    private FeedCacheService feedCacheService;
 
     @Autowired
-    private SubscriptionService subscriptionService;
+    private ObjectMapper objectMapper;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
-    // get personalized feed based on followed trainers
-    public List<FitnessPlanResponse> getUserFeed(Long userId) {
-        // which trainers does this user follow?
-        List<Long> followedTrainerIds = followService.getFollowedTrainerIds(userId);
-        
-        if (followedTrainerIds.isEmpty()) {
-            return new ArrayList<>();
+    // get one page of the personalized feed, newest first across all followed trainers
+    public CursorPage<FitnessPlanResponse> getUserFeed(Long userId, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        boolean firstPage = cursor == null || cursor.isBlank();
+        FeedCacheService.Version cacheVersion = null;
+        if (firstPage) {
+            CursorPage<FitnessPlanResponse> cached = feedCacheService.getFirstPage(userId, pageSize);
+            if (cached != null) {
+                return cached;
+            }
+            cacheVersion = feedCacheService.version(userId);
         }
+        Iterator<FitnessPlan> feed = openFeed(userId, cursor);
 
-        // grab plans from all followed trainers
-        List<FitnessPlan> feedPlans = new ArrayList<>();
-        for (Long trainerId : followedTrainerIds) {
-            List<FitnessPlan> trainerPlans = fitnessPlanRepository.findByTrainerIdOrderByCreatedAtDesc(trainerId);
-            feedPlans.addAll(trainerPlans);
+        List<FitnessPlanResponse> items = new ArrayList<>(pageSize);
+        FitnessPlan last = null;
+        while (items.size() < pageSize && feed.hasNext()) {
+            last = feed.next();
+            items.add(mapToResponse(last));
         }
 
-        // get user's subscriptions for later
-        List<Long> subscribedPlanIds = subscriptionService.getSubscribedPlanIds(userId);
-
-        // convert to DTOs
-        return feedPlans.stream()
-            .map(plan -> {
-                FitnessPlanResponse response = mapToResponse(plan);
-                // frontend uses this to show "Purchased" badge
-                return response;
-            })
-            .collect(Collectors.toList());
+        // one extra look-ahead tells us whether there's a next page
+        String nextCursor = feed.hasNext() ? CursorUtil.encode(last.getCreatedAt(), last.getId()) : null;
+        CursorPage<FitnessPlanResponse> page = new CursorPage<>(items, nextCursor);
+        if (firstPage) {
+            feedCacheService.putFirstPage(userId, pageSize, page, cacheVersion);
+        }
+        return page;
+    }
+
+    // write one page of an opened feed as NDJSON while it is being merged, so the first plans
+    // reach the client early; the last line carries the cursor for the next page
+    public void streamUserFeed(Iterator<FitnessPlan> feed, int size, OutputStream out) throws IOException {
+        int pageSize = clampPageSize(size);
+        int written = 0;
+        FitnessPlan last = null;
+        while (written < pageSize && feed.hasNext()) {
+            last = feed.next();
+            writeLine(out, mapToResponse(last));
+            written++;
+        }
+
+        String nextCursor = feed.hasNext() ? CursorUtil.encode(last.getCreatedAt(), last.getId()) : null;
+        writeLine(out, Collections.singletonMap("nextCursor", nextCursor));
+    }
+
+    // open the feed at the cursor; streaming callers do this on the request thread so a bad
+    // cursor is reported before the response status is committed
+    public Iterator<FitnessPlan> openFeed(Long userId, String cursor) {
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorUtil.decode(cursor, 2);
+            try {
+                cursorCreatedAt = LocalDateTime.parse(parts[0]);
+                cursorId = Long.parseLong(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        return feedMergeEngine.open(userId, cursorCreatedAt, cursorId);
     }
 
-    // get all plans for browsing (not just followed trainers)
-    public List<FitnessPlanResponse> getAllPlans() {
-        List<FitnessPlan> allPlans = fitnessPlanRepository.findAll();
-        return allPlans.stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
+
+    // browse the whole catalogue (not just followed trainers) with range filters,
+    // one keyset page at a time; the cursor carries the sort so it can't be mixed up
+    public CursorPage<FitnessPlanSummary> browsePlans(PlanBrowseFilter filter, String sortParam,
+                                                      String cursor, int size) {
+        PlanSort sort = PlanSort.fromParam(sortParam);
+        int pageSize = clampPageSize(size);
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new RuntimeException("minPrice must not be greater than maxPrice");
+        }
+        if (filter.getMinDuration() != null && filter.getMaxDuration() != null
+                && filter.getMinDuration() > filter.getMaxDuration()) {
+            throw new RuntimeException("minDuration must not be greater than maxDuration");
+        }
+
+        Object cursorKey = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = CursorUtil.decode(cursor, 3);
+            if (!parts[0].equals(sort.name())) {
+                throw new RuntimeException("Cursor does not match sort order");
+            }
+            cursorKey = sort.parseKey(parts[1]);
+            try {
+                cursorId = Long.parseLong(parts[2]);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        // fetch one extra row to know if there's a next page
+        List<FitnessPlanSummary> plans = fitnessPlanRepository.findBrowsePage(
+            filter, sort, cursorKey, cursorId, pageSize + 1);
+        String nextCursor = null;
+        if (plans.size() > pageSize) {
+            plans = plans.subList(0, pageSize);
+            FitnessPlanSummary last = plans.get(pageSize - 1);
+            nextCursor = CursorUtil.encode(sort.name(), sort.keyOf(last), last.getId());
+        }
+        return new CursorPage<>(plans, nextCursor);
     }
 
     // convert entity to DTO
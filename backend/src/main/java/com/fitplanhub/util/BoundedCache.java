@@ -0,0 +1,200 @@
+package com.fitplanhub.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded Cache
+ * Thread-safe LRU cache with a per-entry time-to-live
+ * and hit/miss/eviction counters
+ * Keys are hashed onto independently locked segments, each an access-ordered LRU holding
+ * its share of the capacity, so concurrent reads of different keys rarely contend
+ * (LRU order, and therefore eviction, is per segment)
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Segment<K, V>[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // one lock and one LRU map per segment
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+        private final int capacity;
+        private final LongAdder evictions;
+
+        private Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @param maxSize maximum number of entries before the least recently used is evicted
+     * @param ttlMillis time-to-live of each entry in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        // a power of two no larger than needed for small caches
+        int count = Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxSize / 64))));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // spread the capacity so the segments add up to maxSize
+            int capacity = maxSize / count + (i < maxSize % count ? 1 : 0);
+            segments[i] = new Segment<>(capacity, evictions);
+        }
+    }
+
+    /**
+     * Get a live entry, or null if absent or expired
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                segment.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    // each key takes only its own segment's lock, briefly
+    public void invalidateAll(Collection<K> keys) {
+        for (K key : keys) {
+            invalidate(key);
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Drop expired entries; normally they are only removed when read
+     */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry<V>> it = segment.values().iterator();
+                while (it.hasNext()) {
+                    if (it.next().expiresAt <= now) {
+                        it.remove();
+                        evictions.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the cached values, including entries that have expired but not yet been purged
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                for (Entry<V> entry : segment.values()) {
+                    values.add(entry.value);
+                }
+            }
+        }
+        return values;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Snapshot of size and hit/miss/eviction counters
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        return stats;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+}
@@ -0,0 +1,51 @@
+package com.fitplanhub.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+/**
+ * Constraint Utility Class
+ * Identifies which database constraint an insert violated, so services can let
+ * the unique keys detect duplicates and still report the usual error messages
+ */
+public final class ConstraintUtil {
+
+    private ConstraintUtil() {
+    }
+
+    /**
+     * Whether the failure was caused by the named constraint
+     * (MySQL reports unique keys as "table.constraint", so the match is by containment)
+     */
+    public static boolean isViolation(DataIntegrityViolationException e, String constraintName) {
+        String expected = constraintName.toLowerCase();
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains(expected)) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase().contains(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the failure was a foreign key violation on insert (referenced row missing)
+     * (MySQL error 1452 / 1216, SQL state 23506 on H2)
+     */
+    public static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql
+                    && (sql.getErrorCode() == 1452 || sql.getErrorCode() == 1216
+                        || "23506".equals(sql.getSQLState()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.fitplanhub.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor Utility Class
+ * Encodes keyset pagination positions as opaque, URL-safe tokens
+ * so clients never depend on the underlying sort columns
+ */
+public final class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorUtil() {
+    }
+
+    /**
+     * Encode the sort key values of the last row on a page
+     *
+     * @param parts sort key values, in order
+     * @return opaque cursor string
+     */
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode(Object...)}
+     *
+     * @param cursor opaque cursor string
+     * @param expectedParts number of sort key values the caller expects
+     * @return the raw sort key values
+     * @throws RuntimeException if the cursor is malformed
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException("Unexpected cursor length");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
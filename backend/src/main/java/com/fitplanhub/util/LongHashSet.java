@@ -0,0 +1,123 @@
+package com.fitplanhub.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Long Hash Set
+ * Open-addressing hash set of primitive longs (linear probing),
+ * avoiding the boxing and node overhead of HashSet&lt;Long&gt; for ID lookups
+ * Not thread-safe
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+
+    private long[] slots;
+    private boolean containsZero;
+    private int size;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expectedSize) {
+        slots = new long[LongHashing.tableSizeFor(expectedSize)];
+    }
+
+    public static LongHashSet of(Collection<Long> values) {
+        LongHashSet set = new LongHashSet(values.size());
+        for (Long value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            boolean added = !containsZero;
+            containsZero = true;
+            if (added) {
+                size++;
+            }
+            return added;
+        }
+        int mask = slots.length - 1;
+        int i = LongHashing.mix(value) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+        size++;
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        int i = LongHashing.mix(value) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == value) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copy the values into a new array (unordered)
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int n = 0;
+        if (containsZero) {
+            result[n++] = EMPTY;
+        }
+        for (long slot : slots) {
+            if (slot != EMPTY) {
+                result[n++] = slot;
+            }
+        }
+        return result;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        slots = new long[capacity];
+        int mask = capacity - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int i = LongHashing.mix(value) & mask;
+                while (slots[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = value;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,27 @@
+package com.fitplanhub.util;
+
+/**
+ * Long Hashing
+ * Table sizing and hash spreading shared by the open-addressing primitive collections
+ */
+final class LongHashing {
+
+    private LongHashing() {
+    }
+
+    /**
+     * Power-of-two table length keeping the load factor at or below one half
+     */
+    static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize * 2, 4) - 1) << 1;
+        return Math.max(capacity, 4);
+    }
+
+    /**
+     * Spread sequential IDs across the table
+     */
+    static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
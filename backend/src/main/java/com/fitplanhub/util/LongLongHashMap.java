@@ -0,0 +1,164 @@
+package com.fitplanhub.util;
+
+/**
+ * Long-to-Long Hash Map
+ * Open-addressing map from primitive long keys to primitive long values (linear probing,
+ * backward-shift deletion), avoiding the boxing and entry objects of HashMap&lt;Long, Long&gt;
+ * Not thread-safe
+ */
+public class LongLongHashMap {
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private long[] values;
+    private boolean containsZero;
+    private long zeroValue;
+    private int size;
+
+    public LongLongHashMap() {
+        this(16);
+    }
+
+    public LongLongHashMap(int expectedSize) {
+        int capacity = LongHashing.tableSizeFor(expectedSize);
+        keys = new long[capacity];
+        values = new long[capacity];
+    }
+
+    /**
+     * Associate the value with the key, replacing any previous value
+     */
+    public void put(long key, long value) {
+        if (key == EMPTY) {
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int mask = keys.length - 1;
+        int i = LongHashing.mix(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Value of the key, or defaultValue if absent
+     */
+    public long get(long key, long defaultValue) {
+        if (key == EMPTY) {
+            return containsZero ? zeroValue : defaultValue;
+        }
+        int mask = keys.length - 1;
+        int i = LongHashing.mix(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        if (key == EMPTY) {
+            boolean removed = containsZero;
+            if (removed) {
+                containsZero = false;
+                size--;
+            }
+            return removed;
+        }
+        int mask = keys.length - 1;
+        int i = LongHashing.mix(key) & mask;
+        while (keys[i] != key) {
+            if (keys[i] == EMPTY) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // shift later entries of the probe run back so lookups never stop early
+        int gap = i;
+        int j = (gap + 1) & mask;
+        while (keys[j] != EMPTY) {
+            int home = LongHashing.mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+            j = (j + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0L;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copy the keys into a new array (unordered)
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int n = 0;
+        if (containsZero) {
+            result[n++] = EMPTY;
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Approximate heap footprint in bytes (object header and fields plus both slot arrays)
+     */
+    public long estimatedBytes() {
+        return 40 + 2 * (16 + (long) keys.length * Long.BYTES);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        int mask = capacity - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            long key = oldKeys[k];
+            if (key != EMPTY) {
+                int i = LongHashing.mix(key) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[k];
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.fitplanhub.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction Utility Class
+ * Defers side effects such as cache invalidation until the surrounding
+ * transaction has committed, so readers never re-cache uncommitted state
+ */
+public final class TransactionUtil {
+
+    private TransactionUtil() {
+    }
+
+    /**
+     * Run the action after the current transaction commits,
+     * or immediately when no transaction is active
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fitplanhub.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Version Stripes
+ * Guards read-through caches against re-caching stale loads: a loader reads the
+ * version of its key's stripe before querying and only populates the cache if no
+ * invalidation hit that stripe while the query ran
+ * Keys hash onto a fixed number of stripes, so an unrelated invalidation on the same
+ * stripe only costs a skipped put, never a stale entry
+ */
+public final class VersionStripes {
+
+    private final AtomicLongArray versions;
+    private final int mask;
+
+    /**
+     * @param stripes number of stripes, a power of two
+     */
+    public VersionStripes(int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes must be a power of two");
+        }
+        this.versions = new AtomicLongArray(stripes);
+        this.mask = stripes - 1;
+    }
+
+    /**
+     * Version to remember before loading the key
+     */
+    public long current(long key) {
+        return versions.get(stripeOf(key));
+    }
+
+    /**
+     * True if no invalidation hit the key's stripe since {@link #current(long)} returned the version
+     */
+    public boolean unchanged(long key, long version) {
+        return versions.get(stripeOf(key)) == version;
+    }
+
+    /**
+     * Mark the key as changed; call before removing it from the cache
+     */
+    public void bump(long key) {
+        versions.incrementAndGet(stripeOf(key));
+    }
+
+    private int stripeOf(long key) {
+        return (int) ((key ^ (key >>> 32)) & mask);
+    }
+}
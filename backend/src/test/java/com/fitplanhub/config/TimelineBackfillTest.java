@@ -0,0 +1,64 @@
+package com.fitplanhub.config;
+
+import com.fitplanhub.dto.FitnessPlanRequest;
+import com.fitplanhub.repository.TimelineRepository;
+import com.fitplanhub.service.FollowService;
+import com.fitplanhub.service.TrainerPlanService;
+import com.fitplanhub.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The startup backfill restores timeline rows missing for existing follows, and running it again adds nothing
+ */
+@SpringBootTest
+class TimelineBackfillTest {
+
+    @Autowired
+    private TimelineBackfill timelineBackfill;
+
+    @Autowired
+    private TimelineRepository timelineRepository;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private TrainerPlanService trainerPlanService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void restoresMissingTimelineEntries() {
+        Long trainerId = fixtures.createTrainer("Backfill Trainer", "hiit").getId();
+        Long userId = fixtures.createUser("Early Follower");
+        followService.followTrainer(userId, trainerId);
+        trainerPlanService.createPlan(trainerId, new FitnessPlanRequest("Plan A", "First", 10.0, 14));
+        trainerPlanService.createPlan(trainerId, new FitnessPlanRequest("Plan B", "Second", 12.0, 21));
+        assertEquals(2, timelineSize(userId));
+
+        // a follow from before fan-out on write: the follow exists, its timeline rows don't
+        transactionTemplate.executeWithoutResult(status ->
+            timelineRepository.deleteByUserIdAndTrainerId(userId, trainerId));
+        assertEquals(0, timelineSize(userId));
+
+        timelineBackfill.backfill();
+        assertEquals(2, timelineSize(userId));
+
+        timelineBackfill.backfill();
+        assertEquals(2, timelineSize(userId));
+    }
+
+    private int timelineSize(Long userId) {
+        return timelineRepository.findTimelinePage(userId, null, null, PageRequest.of(0, 10)).size();
+    }
+}
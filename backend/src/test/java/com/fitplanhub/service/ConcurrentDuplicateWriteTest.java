@@ -0,0 +1,138 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.FitnessPlanRequest;
+import com.fitplanhub.repository.FollowRepository;
+import com.fitplanhub.repository.SubscriptionRepository;
+import com.fitplanhub.support.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Parallel duplicate subscribe and follow requests leave exactly one row; the unique keys
+ * turn every other attempt into the usual "already" error instead of a database failure,
+ * and only a missing user (foreign key) is reported as "User not found"
+ */
+@SpringBootTest
+class ConcurrentDuplicateWriteTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private TrainerPlanService trainerPlanService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelDuplicateSubscribesInsertOneRow() throws Exception {
+        Long trainerId = fixtures.createTrainer("Race Trainer", "endurance").getId();
+        Long planId = trainerPlanService.createPlan(trainerId,
+            new FitnessPlanRequest("Race plan", "Eight requests at once", 19.99, 30)).getId();
+        Long userId = fixtures.createUser("Race Tester");
+
+        List<String> failures = runInParallel(() -> subscriptionService.subscribeToPlan(userId, planId));
+
+        assertEquals(THREADS - 1, failures.size(), "exactly one subscribe should succeed");
+        for (String message : failures) {
+            assertEquals("You are already subscribed to this plan", message);
+        }
+        assertEquals(1, subscriptionRepository.countByPlanId(planId));
+    }
+
+    @Test
+    void parallelDuplicateFollowsInsertOneRow() throws Exception {
+        Long trainerId = fixtures.createTrainer("Race Trainer", "endurance").getId();
+        Long userId = fixtures.createUser("Race Tester");
+
+        List<String> failures = runInParallel(() -> followService.followTrainer(userId, trainerId));
+
+        assertEquals(THREADS - 1, failures.size(), "exactly one follow should succeed");
+        for (String message : failures) {
+            assertEquals("You are already following this trainer", message);
+        }
+        assertEquals(1, followRepository.countByTrainerId(trainerId));
+    }
+
+    @Test
+    void missingUserIsReportedAsNotFound() {
+        Long trainerId = fixtures.createTrainer("Race Trainer", "endurance").getId();
+        Long planId = trainerPlanService.createPlan(trainerId,
+            new FitnessPlanRequest("Orphan plan", "No such user", 9.99, 7)).getId();
+        Long missingUserId = Long.MAX_VALUE;
+
+        RuntimeException follow = assertThrows(RuntimeException.class,
+            () -> followService.followTrainer(missingUserId, trainerId));
+        assertEquals("User not found", follow.getMessage());
+        RuntimeException subscribe = assertThrows(RuntimeException.class,
+            () -> subscriptionService.subscribeToPlan(missingUserId, planId));
+        assertEquals("User not found", subscribe.getMessage());
+    }
+
+    // start all calls together; returns the messages of the calls that failed
+    private List<String> runInParallel(Runnable call) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                try {
+                    call.run();
+                    return null;
+                } catch (RuntimeException e) {
+                    return e.getMessage();
+                }
+            }));
+        }
+        ready.await(10, TimeUnit.SECONDS);
+        start.countDown();
+
+        List<String> failures = new ArrayList<>();
+        for (Future<String> result : results) {
+            String message = result.get(30, TimeUnit.SECONDS);
+            if (message != null) {
+                failures.add(message);
+            }
+        }
+        return failures;
+    }
+}
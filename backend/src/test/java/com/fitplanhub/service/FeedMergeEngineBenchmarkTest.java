@@ -0,0 +1,67 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.entity.FitnessPlan;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Timed comparison of the feed merge against the concatenate-and-sort it replaced,
+ * over in-memory sources, one per followed trainer, for the first page and a deep read
+ * Tagged "benchmark" and excluded from the default build; run with `mvn test -Pbenchmark`
+ * Correctness is covered by FeedMergeEngineTest
+ */
+@Tag("benchmark")
+class FeedMergeEngineBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedMergeEngineBenchmarkTest.class);
+
+    private static final int PLANS_PER_TRAINER = 200;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_READ = 2000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1000})
+    void mergeVersusConcatenateAndSort(int trainers) {
+        List<List<FitnessPlan>> data = InMemoryPlanSource.generate(trainers, PLANS_PER_TRAINER, trainers);
+
+        for (int count : new int[] {PAGE_SIZE, DEEP_READ}) {
+            AtomicLong rowsRead = new AtomicLong();
+            double mergeMicros = time(() -> {
+                rowsRead.set(0);
+                return InMemoryPlanSource.merge(data, null, null, count, rowsRead);
+            }, count);
+            double baselineMicros = time(() -> InMemoryPlanSource.concatenateAndSort(data, count), count);
+
+            log.info("feed merge, {} trainers, {} plans: merge {} us ({} rows read), " +
+                     "concatenate-and-sort {} us ({} rows read)",
+                trainers, count, String.format("%.1f", mergeMicros), rowsRead.get(),
+                String.format("%.1f", baselineMicros), (long) trainers * PLANS_PER_TRAINER);
+        }
+    }
+
+    // mean microseconds per call after warm-up
+    private static double time(Supplier<List<FitnessPlan>> read, int expectedSize) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            read.get();
+        }
+        long nanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            List<FitnessPlan> result = read.get();
+            nanos += System.nanoTime() - start;
+            assertEquals(expectedSize, result.size());
+        }
+        return nanos / 1000.0 / MEASURED_ROUNDS;
+    }
+}
@@ -0,0 +1,88 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.entity.FitnessPlan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Correctness of the feed merge over in-memory sources, one per followed trainer:
+ * the merged order and limit match a full concatenate-and-sort, and the merge only
+ * reads what it emits (plus one small batch per source)
+ * Timings live in FeedMergeEngineBenchmarkTest, which is excluded from the default build
+ */
+class FeedMergeEngineTest {
+
+    private static final int PLANS_PER_TRAINER = 200;
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_READ = 2000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void mergeMatchesConcatenateAndSort(int trainers) {
+        List<List<FitnessPlan>> data = InMemoryPlanSource.generate(trainers, PLANS_PER_TRAINER, trainers);
+
+        assertEquals(ids(InMemoryPlanSource.concatenateAndSort(data, PAGE_SIZE)),
+            ids(InMemoryPlanSource.merge(data, null, null, PAGE_SIZE, new AtomicLong())));
+        assertEquals(ids(InMemoryPlanSource.concatenateAndSort(data, DEEP_READ)),
+            ids(InMemoryPlanSource.merge(data, null, null, DEEP_READ, new AtomicLong())));
+    }
+
+    @Test
+    void resumesAfterCursor() {
+        List<List<FitnessPlan>> data = InMemoryPlanSource.generate(10, PLANS_PER_TRAINER, 7);
+        List<FitnessPlan> expected = InMemoryPlanSource.concatenateAndSort(data, 3 * PAGE_SIZE);
+        FitnessPlan last = expected.get(PAGE_SIZE - 1);
+
+        List<FitnessPlan> next = InMemoryPlanSource.merge(data, last.getCreatedAt(), last.getId(),
+            PAGE_SIZE, new AtomicLong());
+
+        assertEquals(ids(expected.subList(PAGE_SIZE, 2 * PAGE_SIZE)), ids(next));
+    }
+
+    @Test
+    void stopsWhenSourcesRunOut() {
+        List<List<FitnessPlan>> data = new ArrayList<>(InMemoryPlanSource.generate(3, 5, 3));
+        data.add(Collections.emptyList());
+
+        List<FitnessPlan> merged = InMemoryPlanSource.merge(data, null, null, PAGE_SIZE, new AtomicLong());
+
+        assertEquals(ids(InMemoryPlanSource.concatenateAndSort(data, PAGE_SIZE)), ids(merged));
+        assertEquals(15, merged.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100})
+    void readsOnlyWhatItEmits(int trainers) {
+        List<List<FitnessPlan>> data = InMemoryPlanSource.generate(trainers, PLANS_PER_TRAINER, trainers);
+        AtomicLong firstPageRows = new AtomicLong();
+        AtomicLong deepRows = new AtomicLong();
+
+        InMemoryPlanSource.merge(data, null, null, PAGE_SIZE, firstPageRows);
+        InMemoryPlanSource.merge(data, null, null, DEEP_READ, deepRows);
+
+        // each source is primed with one small batch; after that batches double with what a
+        // source has emitted, so the rows read stay within twice the rows consumed
+        long initialBatches = (long) trainers * 4;
+        assertTrue(firstPageRows.get() <= initialBatches + 2L * PAGE_SIZE,
+            "first page read " + firstPageRows.get() + " rows");
+        assertTrue(deepRows.get() <= initialBatches + 2L * DEEP_READ,
+            "deep read read " + deepRows.get() + " rows");
+    }
+
+    private static List<Long> ids(List<FitnessPlan> plans) {
+        List<Long> ids = new ArrayList<>(plans.size());
+        for (FitnessPlan plan : plans) {
+            ids.add(plan.getId());
+        }
+        return ids;
+    }
+}
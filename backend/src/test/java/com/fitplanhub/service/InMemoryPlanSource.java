@@ -0,0 +1,93 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.entity.FitnessPlan;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Newest-first list of plans read in keyset batches, counting the rows handed out
+ * Shared by the feed merge tests and benchmark
+ */
+class InMemoryPlanSource implements FeedMergeEngine.PlanSource {
+
+    private final List<FitnessPlan> plans;
+    private final AtomicLong rowsRead;
+
+    InMemoryPlanSource(List<FitnessPlan> plans, AtomicLong rowsRead) {
+        this.plans = plans;
+        this.rowsRead = rowsRead;
+    }
+
+    @Override
+    public List<FitnessPlan> fetch(LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        int from = 0;
+        if (afterCreatedAt != null) {
+            int index = Collections.binarySearch(plans, plan(afterId, afterCreatedAt), FeedMergeEngine.NEWEST_FIRST);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        List<FitnessPlan> batch = plans.subList(from, Math.min(from + limit, plans.size()));
+        rowsRead.addAndGet(batch.size());
+        return batch;
+    }
+
+    /**
+     * One sorted plan list per trainer, with unique IDs and random creation times (deterministic per seed)
+     */
+    static List<List<FitnessPlan>> generate(int trainers, int plansPerTrainer, long seed) {
+        Random random = new Random(seed);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        long nextId = 1;
+        List<List<FitnessPlan>> data = new ArrayList<>(trainers);
+        for (int t = 0; t < trainers; t++) {
+            List<FitnessPlan> plans = new ArrayList<>(plansPerTrainer);
+            for (int p = 0; p < plansPerTrainer; p++) {
+                plans.add(plan(nextId++, base.plusMinutes(random.nextInt(60 * 24 * 365))));
+            }
+            plans.sort(FeedMergeEngine.NEWEST_FIRST);
+            data.add(plans);
+        }
+        return data;
+    }
+
+    /**
+     * Read up to `count` plans through the merge engine, starting after the given position
+     */
+    static List<FitnessPlan> merge(List<List<FitnessPlan>> data, LocalDateTime cursorCreatedAt, Long cursorId,
+                                   int count, AtomicLong rowsRead) {
+        List<FeedMergeEngine.PlanSource> sources = new ArrayList<>(data.size());
+        for (List<FitnessPlan> plans : data) {
+            sources.add(new InMemoryPlanSource(plans, rowsRead));
+        }
+        Iterator<FitnessPlan> feed = FeedMergeEngine.merge(sources, cursorCreatedAt, cursorId);
+        List<FitnessPlan> result = new ArrayList<>(count);
+        while (result.size() < count && feed.hasNext()) {
+            result.add(feed.next());
+        }
+        return result;
+    }
+
+    /**
+     * Baseline the merge replaces: load every source in full, sort, and cut to `count`
+     */
+    static List<FitnessPlan> concatenateAndSort(List<List<FitnessPlan>> data, int count) {
+        List<FitnessPlan> all = new ArrayList<>();
+        for (List<FitnessPlan> plans : data) {
+            all.addAll(plans);
+        }
+        all.sort(FeedMergeEngine.NEWEST_FIRST);
+        return new ArrayList<>(all.subList(0, Math.min(count, all.size())));
+    }
+
+    static FitnessPlan plan(Long id, LocalDateTime createdAt) {
+        FitnessPlan plan = new FitnessPlan();
+        plan.setId(id);
+        plan.setCreatedAt(createdAt);
+        return plan;
+    }
+}
@@ -0,0 +1,68 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.FitnessPlanRequest;
+import com.fitplanhub.entity.PlanSubscriberCount;
+import com.fitplanhub.repository.FitnessPlanRepository;
+import com.fitplanhub.repository.PlanSubscriberCountRepository;
+import com.fitplanhub.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Purging a deleted plan records its removed subscriptions in the ledger, so the projected
+ * subscriber counts drop to zero instead of drifting
+ */
+@SpringBootTest
+class PlanCleanupServiceTest {
+
+    @Autowired
+    private PlanCleanupService planCleanupService;
+
+    @Autowired
+    private TrainerPlanService trainerPlanService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private SubscriptionProjector projector;
+
+    @Autowired
+    private FitnessPlanRepository fitnessPlanRepository;
+
+    @Autowired
+    private PlanSubscriberCountRepository planSubscriberCountRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void purgedSubscriptionsLeaveTheProjectedCounts() {
+        Long trainerId = fixtures.createTrainer("Cleanup Trainer", "yoga").getId();
+        Long planId = trainerPlanService.createPlan(trainerId,
+            new FitnessPlanRequest("Retired plan", "Soon deleted", 15.0, 30)).getId();
+        for (int i = 0; i < 3; i++) {
+            subscriptionService.subscribeToPlan(fixtures.createUser("Subscriber " + i), planId);
+        }
+        projector.project();
+        assertEquals(3L, activeSubscribers(planId));
+
+        trainerPlanService.deletePlan(trainerId, planId);
+        planCleanupService.run();
+        projector.project();
+
+        assertFalse(fitnessPlanRepository.existsById(planId));
+        assertEquals(0L, activeSubscribers(planId));
+        assertEquals(3L, planSubscriberCountRepository.findById(planId)
+            .map(PlanSubscriberCount::getTotalSubscriptions).orElse(0L));
+    }
+
+    private long activeSubscribers(Long planId) {
+        return planSubscriberCountRepository.findById(planId)
+            .map(PlanSubscriberCount::getActiveSubscribers).orElse(0L);
+    }
+}
@@ -0,0 +1,76 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.FitnessPlanRequest;
+import com.fitplanhub.entity.PlanSubscriberCount;
+import com.fitplanhub.entity.Subscription;
+import com.fitplanhub.repository.PlanSubscriberCountRepository;
+import com.fitplanhub.support.TestFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Expired subscriptions are marked, not deleted: the user still sees them, the projected
+ * counts drop once, and buying the plan again replaces the expired row
+ */
+@SpringBootTest
+class SubscriptionExpiryServiceTest {
+
+    @Autowired
+    private SubscriptionExpiryService expiryService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private TrainerPlanService trainerPlanService;
+
+    @Autowired
+    private SubscriptionProjector projector;
+
+    @Autowired
+    private PlanSubscriberCountRepository planSubscriberCountRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void expiredSubscriptionIsKeptAndCanBeRenewed() {
+        Long trainerId = fixtures.createTrainer("Expiry Trainer", "running").getId();
+        // a zero-day plan expires as soon as it is bought
+        Long planId = trainerPlanService.createPlan(trainerId,
+            new FitnessPlanRequest("Trial", "Expires immediately", 0.0, 0)).getId();
+        Long userId = fixtures.createUser("Lapsed Subscriber");
+        subscriptionService.subscribeToPlan(userId, planId);
+
+        expiryService.expireDue();
+        expiryService.expireDue();
+        projector.project();
+
+        List<Subscription> subscriptions = subscriptionService.getUserSubscriptions(userId);
+        assertEquals(1, subscriptions.size());
+        assertNotNull(subscriptions.get(0).getExpiredAt());
+        assertFalse(subscriptionService.isSubscribed(userId, planId));
+        assertEquals(0L, counts(planId).getActiveSubscribers());
+
+        subscriptionService.subscribeToPlan(userId, planId);
+        projector.project();
+
+        subscriptions = subscriptionService.getUserSubscriptions(userId);
+        assertEquals(1, subscriptions.size());
+        assertNull(subscriptions.get(0).getExpiredAt());
+        assertEquals(1L, counts(planId).getActiveSubscribers());
+        assertEquals(2L, counts(planId).getTotalSubscriptions());
+    }
+
+    private PlanSubscriberCount counts(Long planId) {
+        return planSubscriberCountRepository.findById(planId).orElseThrow();
+    }
+}
@@ -0,0 +1,83 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.entity.SubscriptionEvent;
+import com.fitplanhub.repository.SubscriptionEventRepository;
+import com.fitplanhub.repository.SubscriptionHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A ledger event that commits after an event with a higher ID has already been projected
+ * is still projected once it becomes visible
+ */
+@SpringBootTest
+class SubscriptionProjectorTest {
+
+    @Autowired
+    private SubscriptionProjector projector;
+
+    @Autowired
+    private SubscriptionEventRepository eventRepository;
+
+    @Autowired
+    private SubscriptionHistoryRepository historyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void lateCommitBelowProjectedEventIsStillProjected() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch inserted = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<Long> slow = executor.submit(() -> transactionTemplate.execute(status -> {
+                Long id = eventRepository.saveAndFlush(event()).getId();
+                inserted.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return id;
+            }));
+            assertTrue(inserted.await(30, TimeUnit.SECONDS));
+            Long fast = transactionTemplate.execute(status -> eventRepository.saveAndFlush(event()).getId());
+
+            projector.project();
+            assertTrue(historyRepository.existsById(fast));
+
+            release.countDown();
+            Long late = slow.get(30, TimeUnit.SECONDS);
+            assertTrue(late < fast);
+            assertFalse(historyRepository.existsById(late));
+
+            projector.project();
+            assertTrue(historyRepository.existsById(late), "late commit was skipped");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static SubscriptionEvent event() {
+        SubscriptionEvent event = new SubscriptionEvent();
+        event.setType(SubscriptionEvent.Type.SUBSCRIBED);
+        event.setUserId(1L);
+        event.setPlanId(1L);
+        event.setTrainerId(1L);
+        event.setPlanTitle("Ledger plan");
+        event.setPrice(10.0);
+        return event;
+    }
+}
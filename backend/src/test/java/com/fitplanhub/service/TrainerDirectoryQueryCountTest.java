@@ -0,0 +1,110 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.CursorPage;
+import com.fitplanhub.dto.TrainerResponse;
+import com.fitplanhub.dto.TrainerSummary;
+import com.fitplanhub.entity.Trainer;
+import com.fitplanhub.support.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The trainer directory and search load follow status once per request,
+ * so the number of SQL statements doesn't grow with the number of trainers
+ */
+@SpringBootTest
+class TrainerDirectoryQueryCountTest {
+
+    @Autowired
+    private TrainerService trainerService;
+
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void directoryAndSearchRunConstantStatementCount() {
+        String keyword = "coach" + UUID.randomUUID().toString().substring(0, 8);
+        Long userId = fixtures.createUser("Directory Tester");
+        Set<Long> created = new HashSet<>();
+
+        createTrainers(1, keyword, userId, created);
+        long directoryWithOne = countStatements(() -> assertAllFollowed(directory(userId), created));
+        long searchWithOne = countStatements(() -> assertEquals(1, search(keyword, userId, created)));
+
+        createTrainers(49, keyword, userId, created);
+        long directoryWithMany = countStatements(() -> assertAllFollowed(directory(userId), created));
+        long searchWithMany = countStatements(() -> assertEquals(50, search(keyword, userId, created)));
+
+        assertEquals(directoryWithOne, directoryWithMany, "directory statements grew with trainer count");
+        assertEquals(searchWithOne, searchWithMany, "search statements grew with trainer count");
+    }
+
+    private List<TrainerSummary> directory(Long userId) {
+        CursorPage<TrainerSummary> page = trainerService.getTrainerDirectory(userId, "newest", null, false, null, 100);
+        return page.getItems();
+    }
+
+    // number of our trainers found, each must be marked as followed
+    private int search(String keyword, Long userId, Set<Long> created) {
+        int found = 0;
+        for (TrainerResponse trainer : trainerService.searchTrainers(keyword, userId)) {
+            if (created.contains(trainer.getTrainerId())) {
+                assertTrue(trainer.isFollowing());
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private void assertAllFollowed(List<TrainerSummary> trainers, Set<Long> created) {
+        int found = 0;
+        for (TrainerSummary trainer : trainers) {
+            if (created.contains(trainer.getTrainerId())) {
+                assertTrue(trainer.isFollowing());
+                found++;
+            }
+        }
+        assertEquals(created.size(), found);
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createTrainers(int count, String keyword, Long userId, Set<Long> created) {
+        for (int i = 0; i < count; i++) {
+            Trainer trainer = fixtures.createTrainer(keyword + " " + created.size(), "strength, mobility");
+            followService.followTrainer(userId, trainer.getId());
+            created.add(trainer.getId());
+        }
+    }
+}
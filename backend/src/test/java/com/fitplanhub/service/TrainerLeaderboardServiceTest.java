@@ -0,0 +1,48 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.LeaderboardEntry;
+import com.fitplanhub.dto.TrainerCount;
+import com.fitplanhub.repository.SubscriptionRepository;
+import com.fitplanhub.repository.TrainerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Leaderboard reload without the database: follower deltas not flushed yet survive the reload
+ */
+class TrainerLeaderboardServiceTest {
+
+    private final TrainerRepository trainerRepository = mock(TrainerRepository.class);
+    private final FollowerCounterService followerCounterService = new FollowerCounterService();
+    private final TrainerLeaderboardService leaderboard = new TrainerLeaderboardService();
+
+    TrainerLeaderboardServiceTest() {
+        ReflectionTestUtils.setField(leaderboard, "trainerRepository", trainerRepository);
+        ReflectionTestUtils.setField(leaderboard, "subscriptionRepository", mock(SubscriptionRepository.class));
+        ReflectionTestUtils.setField(leaderboard, "followerCounterService", followerCounterService);
+    }
+
+    @Test
+    void reloadKeepsPendingFollowerDeltas() {
+        when(trainerRepository.findFollowerCounts()).thenReturn(List.of(
+            new TrainerCount(1L, 5), new TrainerCount(3L, 4)));
+        // follows not flushed to trainers.follower_count yet
+        followerCounterService.increment(1L);
+        followerCounterService.increment(1L);
+        followerCounterService.increment(2L);
+        followerCounterService.decrement(3L);
+
+        leaderboard.load();
+
+        List<LeaderboardEntry> top = leaderboard.top(TrainerLeaderboardService.Board.FOLLOWERS, 10);
+        assertEquals(List.of(1L, 3L, 2L), top.stream().map(LeaderboardEntry::getTrainerId).collect(Collectors.toList()));
+        assertEquals(List.of(7L, 3L, 1L), top.stream().map(LeaderboardEntry::getCount).collect(Collectors.toList()));
+    }
+}
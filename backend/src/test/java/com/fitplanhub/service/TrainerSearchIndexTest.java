@@ -0,0 +1,49 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.TrainerIndexRow;
+import com.fitplanhub.repository.TrainerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Trainer search index without the database: short terms and trainers registered during a rebuild
+ */
+class TrainerSearchIndexTest {
+
+    private final TrainerRepository trainerRepository = mock(TrainerRepository.class);
+    private final TrainerSearchIndex index = new TrainerSearchIndex();
+
+    TrainerSearchIndexTest() {
+        ReflectionTestUtils.setField(index, "trainerRepository", trainerRepository);
+    }
+
+    @Test
+    void shortTermsMatchInsideWordsAfterPrefixHits() {
+        index.add(1L, "Jane Smith", "yoga");
+        index.add(2L, "Anna Lee", "pilates");
+        index.add(3L, "Bob Stone", "boxing");
+
+        assertEquals(List.of(2L, 1L), index.search("an", 10));
+        assertEquals(List.of(1L), index.search("mi", 10));
+    }
+
+    @Test
+    void trainerAddedDuringRebuildIsKept() {
+        when(trainerRepository.findAllForIndexing()).thenAnswer(invocation -> {
+            // registered after the load read the table, so only add() knows about it
+            index.add(2L, "Late Registration", "rowing");
+            return List.of(new TrainerIndexRow(1L, "Early Trainer", "yoga", 0));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(1L), index.search("early", 10));
+        assertEquals(List.of(2L), index.search("rowing", 10));
+    }
+}
@@ -0,0 +1,65 @@
+package com.fitplanhub.service;
+
+import com.fitplanhub.dto.TrainerIndexRow;
+import com.fitplanhub.dto.TrainerSuggestion;
+import com.fitplanhub.repository.TrainerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Trainer typeahead without the database: trainers registered during a rebuild, and
+ * lowercasing that does not depend on the default locale
+ */
+class TrainerSuggestIndexTest {
+
+    private final TrainerRepository trainerRepository = mock(TrainerRepository.class);
+    private final TrainerSuggestIndex index = new TrainerSuggestIndex();
+
+    TrainerSuggestIndexTest() {
+        ReflectionTestUtils.setField(index, "trainerRepository", trainerRepository);
+    }
+
+    @Test
+    void trainerAddedDuringRebuildIsKeptAndCountedOnce() {
+        when(trainerRepository.findAllForIndexing()).thenAnswer(invocation -> {
+            // one registration the load missed, one it already saw
+            index.add(2L, "Late Registration", "Rowing");
+            index.add(1L, "Early Trainer", "Rowing");
+            return List.of(new TrainerIndexRow(1L, "Early Trainer", "Rowing", 5));
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of("Late Registration"), texts(index.suggest("late", 10)));
+        List<TrainerSuggestion> rowing = index.suggest("row", 10);
+        assertEquals(1, rowing.size());
+        // 1 + 5 followers from the load, plus 1 for the replayed new trainer
+        assertEquals(7, rowing.get(0).getWeight());
+    }
+
+    @Test
+    void lookupIgnoresDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            index.add(1L, "Ivan Petrov", "Interval training");
+
+            assertEquals(List.of("Ivan Petrov"), texts(index.suggest("IVAN", 10)));
+            assertEquals(List.of("Interval training"), texts(index.suggest("INTER", 10)));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    private static List<String> texts(List<TrainerSuggestion> suggestions) {
+        return suggestions.stream().map(TrainerSuggestion::getText).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,48 @@
+package com.fitplanhub.support;
+
+import com.fitplanhub.dto.TrainerSignupRequest;
+import com.fitplanhub.entity.Trainer;
+import com.fitplanhub.entity.User;
+import com.fitplanhub.repository.UserRepository;
+import com.fitplanhub.service.TrainerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Test Fixtures
+ * Creates users and trainers with unique emails, so tests sharing one database don't collide
+ */
+@Component
+public class TestFixtures {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrainerService trainerService;
+
+    public Long createUser(String fullName) {
+        User user = new User();
+        user.setFullName(fullName);
+        user.setEmail(UUID.randomUUID() + "@users.test");
+        user.setPassword("password");
+        user.setAge(30);
+        user.setGender("other");
+        user.setHeight(175.0);
+        user.setWeight(70.0);
+        user.setFitnessGoal("improve_fitness");
+        return userRepository.save(user).getId();
+    }
+
+    public Trainer createTrainer(String fullName, String specializations) {
+        TrainerSignupRequest request = new TrainerSignupRequest();
+        request.setFullName(fullName);
+        request.setEmail(UUID.randomUUID() + "@trainers.test");
+        request.setPassword("password");
+        request.setYearsOfExperience(5);
+        request.setSpecializations(specializations);
+        return trainerService.registerTrainer(request);
+    }
+}